@@ -0,0 +1,72 @@
+package chatbot.inputreader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.SyntheticTasks;
+import chatbot.taskhandler.Task;
+
+/**
+ * Measures saving and loading the task file with 1k to 1M tasks. The save includes forcing the file to disk,
+ * so its numbers depend on the disk as much as on the code.
+ * Run with ./gradlew jmh -PjmhInclude=FileWritingBenchmark
+ */
+@State(Scope.Benchmark)
+public class FileWritingBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private List<Task> tasks;
+    private File taskFile;
+    private String taskFilePath;
+
+    /**
+     * Creates the synthetic tasks and a task file holding them.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LeoException {
+        tasks = SyntheticTasks.tasks(size);
+        taskFile = File.createTempFile("leo-benchmark", ".txt");
+        taskFilePath = taskFile.getAbsolutePath();
+        FileWriting.writeToFile(taskFilePath, tasks);
+    }
+
+    /**
+     * Removes the task file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        taskFile.delete();
+    }
+
+    @Benchmark
+    public void writeToFile() throws IOException {
+        FileWriting.writeToFile(taskFilePath, tasks);
+    }
+
+    @Benchmark
+    public List<String> readFromFile() throws IOException {
+        return FileWriting.readFromFile(taskFilePath);
+    }
+
+    /**
+     * Reads the task file and parses every line, as loading a small task file does.
+     */
+    @Benchmark
+    public void readAndParse(Blackhole blackhole) throws IOException, LeoException {
+        for (String line : FileWriting.readFromFile(taskFilePath)) {
+            blackhole.consume(CommandHandler.parseStoredTask(line));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package chatbot.parser;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares splitting a command with {@link ParsedCommand} against the splits and regular expressions
+ * the command handlers used before, which each handler repeated on the same input.
+ * Run with ./gradlew jmh -PjmhInclude=CommandParsingBenchmark
+ */
+@State(Scope.Benchmark)
+public class CommandParsingBenchmark {
+    @Param({
+        "mark 12",
+        "deadline return library book /by 2025-09-16 1800",
+        "event team meeting /from 2025-09-16 1400 /to 2025-09-16 1600",
+        "edit 3 /name return library book /by 2025-09-17"
+    })
+    private String input;
+
+    @Benchmark
+    public void current(Blackhole blackhole) {
+        ParsedCommand command = ParsedCommand.parse(input);
+        blackhole.consume(command.getVerb());
+        blackhole.consume(command.getDescription());
+        for (int i = 0; i < command.getFlagCount(); i++) {
+            blackhole.consume(command.getFlagName(i));
+            blackhole.consume(command.getFlagValue(i));
+        }
+    }
+
+    @Benchmark
+    public void previous(Blackhole blackhole) {
+        String[] words = input.split(" "); // CommandHandler.handleCommand
+        blackhole.consume(words[0]);
+        switch (words[0]) {
+        case "deadline":
+            String[] typed = input.trim().split("\\s+"); // TaskParser.parseTask
+            String[] parts = input.split(" /by ", 2);
+            blackhole.consume(typed);
+            blackhole.consume(parts[0].replaceFirst("deadline", "").trim());
+            blackhole.consume(parts[1].trim());
+            break;
+        case "event":
+            blackhole.consume(input.trim().split("\\s+"));
+            String[] splitFrom = input.split(" /from ", 2);
+            String[] splitTo = splitFrom[1].split(" /to ", 2);
+            blackhole.consume(splitFrom[0].replaceFirst("event", "").trim());
+            blackhole.consume(splitTo[0].trim());
+            blackhole.consume(splitTo[1].trim());
+            break;
+        case "edit":
+            String[] editWords = input.split(" "); // TaskManager.updateTask
+            blackhole.consume(editWords[1]);
+            Matcher matcher = Pattern.compile("/(\\w+)\\s+([^/]+)").matcher(input);
+            while (matcher.find()) {
+                blackhole.consume(matcher.group(1));
+                blackhole.consume(matcher.group(2).trim());
+            }
+            break;
+        default:
+            blackhole.consume(words[1]);
+            break;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package chatbot.parser;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import chatbot.exceptions.LeoException;
+
+/**
+ * Compares {@link DateTimeParser#parseDateTime(String, String)} with the regex and exception based parser
+ * it replaced, for both supported shapes.
+ * Run with ./gradlew jmh -PjmhInclude=DateTimeParserBenchmark
+ */
+@State(Scope.Benchmark)
+public class DateTimeParserBenchmark {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Param({"2025-09-16", "2025-09-16 1230"})
+    private String input;
+
+    @Benchmark
+    public LocalDateTime current() throws LeoException {
+        return DateTimeParser.parseDateTime(input, "date");
+    }
+
+    @Benchmark
+    public LocalDateTime previous() throws LeoException {
+        return parsePreviously(input, "date");
+    }
+
+    /** The parser as it was before the fast path was added. */
+    private static LocalDateTime parsePreviously(String dateString, String fieldName) throws LeoException {
+        if (dateString == null || dateString.trim().isEmpty()) {
+            throw new LeoException("UH-OH!!! The " + fieldName + " cannot be empty.");
+        }
+        String s = dateString.trim().replaceAll("\\s+", " ");
+        try {
+            return LocalDateTime.parse(s, DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException ignored) {
+            // fall through to date-only
+        }
+        try {
+            return LocalDateTime.of(LocalDate.parse(s, DATE_FORMATTER), LocalTime.MIDNIGHT);
+        } catch (DateTimeParseException ex) {
+            throw new LeoException("UH-OH!!! The " + fieldName + " format is invalid.");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package chatbot.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.Task;
+
+/**
+ * Measures turning a command into a task with {@link TaskParser#parseTask(String)}, for each task type.
+ * Parsing a command does not depend on how many tasks there are, so unlike the TaskManager benchmarks
+ * this one does not run on several list sizes.
+ * Run with ./gradlew jmh -PjmhInclude=TaskParserBenchmark
+ */
+@State(Scope.Benchmark)
+public class TaskParserBenchmark {
+    @Param({
+        "todo read chapter 12",
+        "deadline submit report 12 /by 2025-10-13 1800",
+        "event team meeting 12 /from 2025-10-13 1400 /to 2025-10-13 1600"
+    })
+    private String input;
+
+    @Benchmark
+    public Task parseTask() throws LeoException {
+        return TaskParser.parseTask(input);
+    }
+}
@@ -0,0 +1,52 @@
+package chatbot.taskhandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import chatbot.exceptions.LeoException;
+import chatbot.inputreader.CommandHandler;
+
+/**
+ * Builds task lists of any size for the benchmarks, in the task file format.
+ * A third of the tasks are todos, a third deadlines and a third events, with dates spread over October 2025
+ * and every fifth task done. Task i is named after i, so a benchmark can look up any task by name.
+ */
+public class SyntheticTasks {
+    /**
+     * Returns the task file line of the task at the given 0-based position.
+     */
+    public static String line(int i) {
+        String done = i % 5 == 0 ? "1" : "0";
+        String day = String.format("2025-10-%02d", 1 + i % 28);
+        switch (i % 3) {
+        case 0:
+            return "T | " + done + " | read chapter " + i;
+        case 1:
+            return "D | " + done + " | submit report " + i + " | " + day + " 1800";
+        default:
+            return "E | " + done + " | team meeting " + i + " | " + day + " 1400 | " + day + " 1600";
+        }
+    }
+
+    /**
+     * Returns the task file lines of the given number of tasks.
+     */
+    public static List<String> lines(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add(line(i));
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the given number of tasks.
+     */
+    public static List<Task> tasks(int count) throws LeoException {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(CommandHandler.parseStoredTask(line(i)));
+        }
+        return tasks;
+    }
+}
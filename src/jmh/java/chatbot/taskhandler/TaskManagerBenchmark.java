@@ -0,0 +1,89 @@
+package chatbot.taskhandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import chatbot.exceptions.LeoException;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.inputreader.WriteBehindFlusher;
+import chatbot.ui.SilentSink;
+
+/**
+ * Measures the TaskManager commands on lists of 1k to 1M tasks, to show which of them grow with the list.
+ * Saving is held back for the whole run, so only the in-memory work is measured;
+ * {@link chatbot.inputreader.FileWritingBenchmark} measures the save itself.
+ * Run with ./gradlew jmh -PjmhInclude=TaskManagerBenchmark
+ */
+@State(Scope.Benchmark)
+public class TaskManagerBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    private TaskManager manager;
+    private File taskFile;
+
+    /**
+     * Creates a task manager holding the synthetic tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        taskFile = File.createTempFile("leo-benchmark", ".txt");
+        manager = new TaskManager(taskFile.getAbsolutePath(), PersistenceMode.SNAPSHOT, StorageFormat.TEXT,
+                WriteBehindFlusher.DEFAULT_FLUSH_DELAY_MILLIS, new SilentSink());
+        manager.beginBatch();
+        manager.bulkLoad(SyntheticTasks.lines(size));
+    }
+
+    /**
+     * Removes the task file without saving the tasks.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+        taskFile.delete();
+    }
+
+    /**
+     * Adds a task and deletes it again, so that the list stays the same size however long the run is.
+     */
+    @Benchmark
+    public String addTask() throws LeoException {
+        manager.addTask(new ToDo("read chapter " + size));
+        return manager.deleteTask("delete", String.valueOf(size + 1));
+    }
+
+    @Benchmark
+    public String findTasks() throws LeoException {
+        return manager.findTasks("find", "report " + ThreadLocalRandom.current().nextInt(size));
+    }
+
+    @Benchmark
+    public String sortDeadlineTask() throws LeoException {
+        return manager.sortDeadlineTask("due", "10");
+    }
+
+    @Benchmark
+    public String printList() throws LeoException {
+        int page = 1 + ThreadLocalRandom.current().nextInt(size / TaskManager.DEFAULT_PAGE_SIZE);
+        return manager.printList("list", String.valueOf(page));
+    }
+
+    /**
+     * Renames a random todo, so the edit keeps the task's type.
+     */
+    @Benchmark
+    public String updateTask() throws LeoException {
+        int todo = 3 * ThreadLocalRandom.current().nextInt(size / 3) + 1;
+        return manager.updateTask("edit " + todo + " /name read chapter " + todo);
+    }
+}
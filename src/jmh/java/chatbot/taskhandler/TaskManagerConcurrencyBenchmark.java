@@ -0,0 +1,91 @@
+package chatbot.taskhandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import chatbot.exceptions.LeoException;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.ui.SilentSink;
+
+/**
+ * Measures TaskManager throughput when 1, 4 or 16 threads share it, with a mix of nine reads
+ * (find, due and list) to every write (an edit). Reads should scale with the thread count, as they do not
+ * block one another. Saving is done in write-behind mode so the writes measure the lock rather than the disk.
+ * Run with ./gradlew jmh -PjmhInclude=TaskManagerConcurrencyBenchmark
+ */
+@State(Scope.Benchmark)
+public class TaskManagerConcurrencyBenchmark {
+    private static final int TASK_COUNT = 10_000;
+
+    private TaskManager manager;
+    private File taskFile;
+
+    /**
+     * Creates a task manager with a mix of todos and deadlines.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, LeoException {
+        taskFile = File.createTempFile("leo-benchmark", ".txt");
+        manager = new TaskManager(taskFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND, StorageFormat.TEXT,
+                60_000, new SilentSink());
+        for (int i = 0; i < TASK_COUNT; i++) {
+            if (i % 2 == 0) {
+                manager.addTask(new ToDo("read chapter " + i));
+            } else {
+                manager.addTask(new Deadline("submit report " + i, "2025-10-" + String.format("%02d", 1 + i % 28)));
+            }
+        }
+    }
+
+    /**
+     * Stops the background flusher and removes the task file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.close();
+        taskFile.delete();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String mixedOneThread() throws LeoException {
+        return runOneCommand();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String mixedFourThreads() throws LeoException {
+        return runOneCommand();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String mixedSixteenThreads() throws LeoException {
+        return runOneCommand();
+    }
+
+    private String runOneCommand() throws LeoException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int choice = random.nextInt(10);
+        if (choice < 4) {
+            return manager.findTasks("find", "report " + random.nextInt(TASK_COUNT));
+        } else if (choice < 7) {
+            return manager.sortDeadlineTask("due", "10");
+        } else if (choice < 9) {
+            int page = 1 + random.nextInt(TASK_COUNT / TaskManager.DEFAULT_PAGE_SIZE);
+            return manager.printList("list", String.valueOf(page));
+        }
+        int task = 2 * random.nextInt(TASK_COUNT / 2) + 1; // a todo, so the edit keeps the task's type
+        return manager.updateTask("edit " + task + " /name read chapter " + random.nextInt(TASK_COUNT));
+    }
+}
@@ -0,0 +1,194 @@
+package chatbot.inputreader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.Deadline;
+import chatbot.taskhandler.Event;
+import chatbot.taskhandler.Task;
+import chatbot.taskhandler.ToDo;
+
+/**
+ * Reads and encodes the binary task file format. Files are written through {@link FileWriting}.
+ * Loading a binary file needs no regex splitting or date parsing, so it is limited mostly by disk speed.
+ *
+ * <p>Layout: the magic bytes "LEOB", a version byte and the task count, then one record per task,
+ * then a CRC32 of everything before it. A record is a type byte ('T', 'D' or 'E'), a done byte,
+ * the name as a length-prefixed UTF-8 string and, for deadlines and events, their dates as epoch seconds (UTC).
+ */
+public class BinaryTaskCodec {
+    public static final byte VERSION = 1;
+
+    private static final byte[] MAGIC = {'L', 'E', 'O', 'B'};
+    private static final byte TODO_TAG = 'T';
+    private static final byte DEADLINE_TAG = 'D';
+    private static final byte EVENT_TAG = 'E';
+    private static final int CHECKSUM_LENGTH = Integer.BYTES;
+    /** Length of the version byte and the task count that follow the magic bytes. */
+    private static final int HEADER_LENGTH = 1 + Integer.BYTES;
+    /** Length of the shortest possible record: a todo with an empty name. */
+    private static final int MIN_RECORD_LENGTH = 2 + Integer.BYTES;
+
+    /**
+     * Encodes the list of tasks as the contents of a binary task file, without writing it anywhere.
+     *
+     * @param tasks The list of tasks to encode.
+     * @return The contents of the file, as the records followed by their checksum.
+     * @throws IOException If a task cannot be encoded.
+     */
+    public static byte[][] encodeFile(List<Task> tasks) throws IOException {
+        assert tasks != null : "tasks must not be null";
+        byte[] data = encode(tasks);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        byte[] checksum = ByteBuffer.allocate(CHECKSUM_LENGTH).putInt((int) crc.getValue()).array();
+        return new byte[][] {data, checksum};
+    }
+
+    /**
+     * Reads all tasks from a file in the binary format.
+     * A file that fails its checksum is still read as far as possible, but a copy of it is kept with a ".bak" suffix.
+     *
+     * @param filePath The path to the file to read from.
+     * @return The tasks in the file, in order.
+     * @throws IOException If an I/O error occurs or the file is not a supported binary task file.
+     */
+    public static List<Task> readFromFile(String filePath) throws IOException {
+        byte[] bytes = Files.readAllBytes(Path.of(filePath));
+        if (!hasMagic(bytes)) {
+            throw new IOException("Not a binary task file: " + filePath);
+        }
+        int dataLength = bytes.length - CHECKSUM_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, Math.max(dataLength, 0));
+        boolean isIntact = dataLength > MAGIC.length
+                && ByteBuffer.wrap(bytes, dataLength, CHECKSUM_LENGTH).getInt() == (int) crc.getValue();
+        if (!isIntact) {
+            FileWriting.keepDamagedCopy(filePath);
+        }
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks whether the file at the given path starts with the binary format's magic bytes.
+     *
+     * @param filePath The path to the file to check.
+     * @return True if the file exists and is in the binary format.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static boolean isBinaryFile(String filePath) throws IOException {
+        Path path = Path.of(filePath);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return hasMagic(in.readNBytes(MAGIC.length));
+        }
+    }
+
+    private static boolean hasMagic(byte[] bytes) {
+        return bytes.length >= MAGIC.length && Arrays.equals(bytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+
+    private static byte[] encode(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32 + 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(tasks.size());
+        for (Task task : tasks) {
+            if (task instanceof Deadline) {
+                writeHeader(out, DEADLINE_TAG, task);
+                out.writeLong(toEpochSecond(((Deadline) task).getDueDate()));
+            } else if (task instanceof Event) {
+                writeHeader(out, EVENT_TAG, task);
+                out.writeLong(toEpochSecond(((Event) task).getStartDate()));
+                out.writeLong(toEpochSecond(((Event) task).getEndDate()));
+            } else {
+                writeHeader(out, TODO_TAG, task);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeHeader(DataOutputStream out, byte tag, Task task) throws IOException {
+        byte[] name = task.getName().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeBoolean(task.getDone());
+        out.writeInt(name.length);
+        out.write(name);
+    }
+
+    private static List<Task> decode(ByteBuffer buffer) throws IOException {
+        buffer.position(MAGIC.length);
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new IOException("The binary task file ends before its header is complete");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+        int count = buffer.getInt();
+        // a damaged count must not make the list larger than the records that can fit in the file
+        List<Task> tasks = new ArrayList<>(Math.max(Math.min(count, buffer.remaining() / MIN_RECORD_LENGTH), 0));
+        try {
+            for (int i = 0; i < count; i++) {
+                tasks.add(decodeTask(buffer));
+            }
+        } catch (BufferUnderflowException | LeoException e) {
+            // A damaged file keeps the tasks read before the damage
+            System.out.println("Stopped reading the task file after " + tasks.size() + " of " + count + " tasks.");
+        }
+        return tasks;
+    }
+
+    private static Task decodeTask(ByteBuffer buffer) throws LeoException {
+        byte tag = buffer.get();
+        boolean isDone = buffer.get() != 0;
+        int nameLength = buffer.getInt();
+        if (nameLength < 0 || nameLength > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String name = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + nameLength);
+        Task task;
+        switch (tag) {
+        case TODO_TAG:
+            task = new ToDo(name);
+            break;
+        case DEADLINE_TAG:
+            task = new Deadline(name, fromEpochSecond(buffer.getLong()));
+            break;
+        case EVENT_TAG:
+            task = new Event(name, fromEpochSecond(buffer.getLong()), fromEpochSecond(buffer.getLong()));
+            break;
+        default:
+            throw new LeoException("Unknown task type in binary file: " + (char) tag);
+        }
+        task.setDone(isDone);
+        return task;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,123 +1,345 @@
 package chatbot.inputreader;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import chatbot.exceptions.LeoException;
+import chatbot.metrics.CommandEvent;
+import chatbot.metrics.CommandMetrics;
+import chatbot.parser.ParsedCommand;
 import chatbot.taskhandler.Deadline;
 import chatbot.taskhandler.Event;
 import chatbot.taskhandler.Task;
 import chatbot.taskhandler.TaskManager;
 import chatbot.taskhandler.ToDo;
+import chatbot.ui.OutputSink;
 
 /**
  * Handles user commands and interacts with the TaskManager.
  */
 public class CommandHandler {
     public static final String TASK_DONE_MARKER = "1";
+    /** Number of failed script lines listed in the summary of the run command. */
+    public static final int MAX_REPORTED_FAILURES = 10;
+    private static final String PERSIST_EVERY_FLAG = "--persist-every";
+    private static final String RUN_USAGE = "Use run <file path> [--persist-every <integer>]";
+
     private TaskManager taskManager;
+    private final OutputSink output;
+    private final CommandMetrics metrics;
+    private final boolean isShared;
+    private boolean isRunningScript = false;
 
     /**
      * Constructs a CommandHandler with the specified TaskManager.
+     * Error messages are printed to the same output sink as the TaskManager's messages.
      *
      * @param taskManager The TaskManager to manage tasks.
      */
     public CommandHandler(TaskManager taskManager) {
+        this(taskManager, taskManager.getOutputSink());
+    }
+
+    /**
+     * Constructs a CommandHandler with the specified TaskManager and output sink for error messages.
+     *
+     * @param taskManager The TaskManager to manage tasks.
+     * @param output      Where error messages are printed.
+     */
+    public CommandHandler(TaskManager taskManager, OutputSink output) {
+        this(taskManager, output, false);
+    }
+
+    /**
+     * Constructs a CommandHandler with the specified TaskManager and output sink for error messages.
+     * A shared handler is one of several using the same TaskManager at once, such as a server connection.
+     * It rejects the commands whose state would leak into the other handlers: transactions, scripts
+     * and changing the page size.
+     *
+     * @param taskManager The TaskManager to manage tasks.
+     * @param output      Where error messages are printed.
+     * @param isShared    Whether other handlers use the same TaskManager at the same time.
+     */
+    public CommandHandler(TaskManager taskManager, OutputSink output, boolean isShared) {
         assert taskManager != null : "Taskmanager should not be null";
+        assert output != null : "Output sink must not be null";
         this.taskManager = taskManager;
+        this.output = output;
+        this.metrics = taskManager.getMetrics();
+        this.isShared = isShared;
     }
 
     /**
      * Processes the user input command and executes the corresponding action.
+     * The time taken to parse, execute and save the command is recorded in the task manager's metrics,
+     * and as a {@link CommandEvent} when a Flight Recorder recording asks for it.
      *
      * @param input The user input command as a string.
      * @throws LeoException If there is an error processing the command.
      */
     public String handleCommand(String input) throws LeoException {
-        String[] words = input.split(" ");
-        CommandType command = CommandType.fromString(words[0]);
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        ParsedCommand parsedCommand = ParsedCommand.parse(input);
+        CommandType command = CommandType.fromString(parsedCommand.getVerb());
+        long parsedTime = System.nanoTime();
+        long saveNanosBefore = metrics.getSaveNanosOfThisThread();
+        String reply = null;
+        boolean failed = false;
+        try {
+            reply = executeCommand(parsedCommand, command);
+            return reply;
+        } catch (LeoException e) {
+            reply = e.getMessage();
+            failed = true;
+            output.print(reply);
+            return reply;
+        } finally {
+            long endTime = System.nanoTime();
+            long saveNanos = metrics.getSaveNanosOfThisThread() - saveNanosBefore;
+            metrics.recordParse(parsedTime - startTime);
+            metrics.recordExecution(endTime - parsedTime - saveNanos);
+            metrics.recordCommand(command, endTime - startTime);
+            event.finish(command, reply, failed);
+        }
+    }
 
+    private String executeCommand(ParsedCommand parsedCommand, CommandType command) throws LeoException {
+        String[] words = parsedCommand.getWords();
+        if (isShared) {
+            checkAllowedWhenShared(command, words);
+        }
+
+        switch (command) {
+        case MARK:
+            return taskManager.markTask(words);
+        case UNMARK:
+            return taskManager.unmarkTask(words);
+        case LIST:
+            return taskManager.printList(words);
+        case DELETE:
+            return taskManager.deleteTask(words);
+        case TODO:
+        case DEADLINE:
+        case EVENT:
+            return handleTaskCreation(parsedCommand);
+        case FIND:
+            return taskManager.findTasks(words);
+        case DUE:
+            return taskManager.sortDeadlineTask(words);
+        case EDIT:
+            return taskManager.updateTask(parsedCommand);
+        case IMPORT:
+            return taskManager.importTasks(words);
+        case EXPORT:
+            return taskManager.exportTasks(words);
+        case BETWEEN:
+            return taskManager.findTasksBetween(words);
+        case ON:
+            return taskManager.findTasksOn(words);
+        case RUN:
+            return runScript(words);
+        case BEGIN:
+            return taskManager.beginTransaction();
+        case COMMIT:
+            return taskManager.commitTransaction();
+        case ROLLBACK:
+            return taskManager.rollbackTransaction();
+        case STATS:
+            return showStats();
+        default:
+            throw new LeoException("UH-OH!!! Cannot understand your command. "
+                    + "Pls use 'todo', 'deadline', 'event', 'mark', 'unmark', "
+                    + "'list', 'edit', 'due', 'between', 'on', 'import', 'export', 'run', "
+                    + "'begin', 'commit', 'rollback', 'stats' or 'delete'.");
+        }
+    }
+
+    /**
+     * Rejects the commands that would change the state of every handler sharing the TaskManager.
+     * A rollback would undo other clients' changes, and a client that went away mid-transaction or mid-script
+     * would leave saving deferred for everyone.
+     */
+    private static void checkAllowedWhenShared(CommandType command, String[] words) throws LeoException {
+        switch (command) {
+        case RUN:
+        case BEGIN:
+        case COMMIT:
+        case ROLLBACK:
+            throw new LeoException("UH-OH!!! '" + command.name().toLowerCase()
+                    + "' is not available here, as the task list is shared with other connections.");
+        case LIST:
+            if (List.of(words).contains(TaskManager.PAGE_SIZE_FLAG)) {
+                throw new LeoException("UH-OH!!! The page size cannot be changed here, "
+                        + "as the task list is shared with other connections.");
+            }
+            return;
+        default:
+            return;
+        }
+    }
+
+    private String showStats() {
+        String stats = metrics.summarize();
+        output.print(stats);
+        return stats;
+    }
+
+    /**
+     * Runs every line of a command file as a command, e.g. "run data/migration.txt --persist-every 1000".
+     * Saving is held back until the end of the file, or done every given number of commands, instead of after
+     * each command. A failing command is counted and skipped, and a "bye" line ends the script early.
+     *
+     * @param words The input command split into words.
+     * @return A summary of how many commands succeeded and failed, and how fast they ran.
+     * @throws LeoException If the file is missing, cannot be read, or the options are invalid.
+     */
+    public String runScript(String... words) throws LeoException {
+        StringBuilder pathBuilder = new StringBuilder();
+        int persistInterval = 0;
+        for (int i = 1; i < words.length; i++) {
+            if (words[i].equals(PERSIST_EVERY_FLAG)) {
+                persistInterval = parsePersistInterval(words, i + 1);
+                i++;
+            } else {
+                pathBuilder.append(pathBuilder.length() == 0 ? "" : " ").append(words[i]);
+            }
+        }
+        String scriptPath = pathBuilder.toString();
+        if (scriptPath.isEmpty()) {
+            throw new LeoException("UH-OH!!! Please provide a file to run. " + RUN_USAGE);
+        }
+        if (isRunningScript) {
+            throw new LeoException("UH-OH!!! A script cannot run another script.");
+        }
+
+        long startTime = System.nanoTime();
+        int succeeded = 0;
+        List<String> failures = new ArrayList<>();
+        isRunningScript = true;
+        taskManager.beginBatch();
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(scriptPath))) {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                ParsedCommand command = ParsedCommand.parse(line);
+                if (command.getVerb().isEmpty()) {
+                    continue;
+                }
+                CommandType type = CommandType.fromString(command.getVerb());
+                if (type == CommandType.BYE) {
+                    break;
+                }
+                try {
+                    executeCommand(command, type);
+                    succeeded++;
+                } catch (LeoException e) {
+                    failures.add("Line " + lineNumber + ": " + e.getMessage());
+                }
+                if (persistInterval > 0 && (succeeded + failures.size()) % persistInterval == 0) {
+                    taskManager.saveDeferredChanges();
+                }
+            }
+        } catch (IOException e) {
+            throw new LeoException("UH-OH!!! Could not read the script " + scriptPath + ": " + e.getMessage());
+        } finally {
+            taskManager.endBatch(); // commands that ran before any error are still saved
+            isRunningScript = false;
+        }
+
+        String summary = summarizeScript(scriptPath, succeeded, failures, System.nanoTime() - startTime);
+        output.print(summary);
+        return summary;
+    }
+
+    private static int parsePersistInterval(String[] words, int position) throws LeoException {
+        if (position >= words.length) {
+            throw new LeoException("UH-OH!!! Please provide how often to save. " + RUN_USAGE);
+        }
         try {
-            switch (command) {
-            case MARK:
-                return taskManager.markTask(words);
-            case UNMARK:
-                return taskManager.unmarkTask(words);
-            case LIST:
-                return taskManager.printList();
-            case DELETE:
-                return taskManager.deleteTask(words);
-            case TODO:
-            case DEADLINE:
-            case EVENT:
-                return handleTaskCreation(input);
-            case FIND:
-                return taskManager.findTasks(words);
-            case DUE:
-                return taskManager.sortDeadlineTask();
-            case EDIT:
-                return taskManager.updateTask(input);
-            default:
-                throw new LeoException("UH-OH!!! Cannot understand your command. "
-                        + "Pls use 'todo', 'deadline', 'event', 'mark', 'unmark', "
-                        + "'list', 'edit', 'due',  or 'delete'.");
+            int interval = Integer.parseInt(words[position]);
+            if (interval > 0) {
+                return interval;
             }
-        } catch (LeoException e) {
-            String errorMessage = e.getMessage();
-            System.out.println(errorMessage);
-            return errorMessage;
+        } catch (NumberFormatException e) {
+            // reported below together with numbers that are too small
         }
+        throw new LeoException("UH-OH!!! The number of commands between saves must be a positive integer. "
+                + RUN_USAGE);
+    }
+
+    private static String summarizeScript(String scriptPath, int succeeded, List<String> failures,
+            long elapsedNanos) {
+        int total = succeeded + failures.size();
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        long commandsPerSecond = elapsedNanos == 0 ? total : total * 1_000_000_000L / elapsedNanos;
+        StringBuilder summary = new StringBuilder()
+                .append("Ran ").append(total).append(" commands from ").append(scriptPath)
+                .append(" in ").append(elapsedMillis).append(" ms (").append(commandsPerSecond)
+                .append(" commands/s): ").append(succeeded).append(" succeeded, ")
+                .append(failures.size()).append(" failed.");
+        for (int i = 0; i < Math.min(failures.size(), MAX_REPORTED_FAILURES); i++) {
+            summary.append('\n').append(failures.get(i));
+        }
+        if (failures.size() > MAX_REPORTED_FAILURES) {
+            summary.append("\n...and ").append(failures.size() - MAX_REPORTED_FAILURES).append(" more failures.");
+        }
+        return summary.toString();
     }
 
     /**
      * Handles the creation and addition of a new task based on user input.
      *
-     * @param input The user input command for creating a task.
+     * @param command The parsed user input command for creating a task.
      * @return A confirmation message after adding the task.
      * @throws LeoException If there is an error creating or adding the task.
      */
-    private String handleTaskCreation(String input) throws LeoException {
-        Task task = taskManager.createTask(input);
+    private String handleTaskCreation(ParsedCommand command) throws LeoException {
+        Task task = taskManager.createTask(command);
         return taskManager.addTask(task);
     }
 
     /**
-     * Handles commands read from a file and adds them to the TaskManager.
+     * Parses a single line of the task file, e.g. "D | 1 | finish work | 2025-09-25 1800", into a Task.
      *
-     * @param lines The list of command lines read from the file.
-     * @throws LeoException If there is an error processing the commands.
+     * @param line The line read from the file.
+     * @return The task described by the line, or null if the task type is unknown.
+     * @throws LeoException If the dates in the line are invalid.
      */
-    public void handleCommandFromFile(List<String> lines) throws LeoException {
-        assert lines != null : "Lines from file must not be null";
-
-        for (String line : lines) {
-            assert line != null && !line.isBlank() : "Each line should not be null or blank";
-            String[] parts = line.split(" \\| ");
-            assert parts.length >= 3 : "Line must have at least 3 parts - taskType, isDone, description";
-            String taskType = parts[0];
-            boolean isDone = parts[1].equals(TASK_DONE_MARKER);
-            String description = parts[2];
-            Task task;
-
-            switch (taskType) {
-            case "T":
-                task = new ToDo(description);
-                break;
-            case "D":
-                String dueDate = parts[3];
-                task = new Deadline(description, dueDate);
-                break;
-            case "E":
-                String startDate = parts[3];
-                String endDate = parts[4];
-                task = new Event(description, startDate, endDate);
-                break;
-            default:
-                System.out.println("Unknown task type in file: " + taskType);
-                continue; // Skip unknown task types
-            }
-            task.setDone(isDone);
-            this.taskManager.addTask(task);
+    public static Task parseStoredTask(String line) throws LeoException {
+        assert line != null && !line.isBlank() : "Each line should not be null or blank";
+        String[] parts = line.split(" \\| ");
+        assert parts.length >= 3 : "Line must have at least 3 parts - taskType, isDone, description";
+        String taskType = parts[0];
+        boolean isDone = parts[1].equals(TASK_DONE_MARKER);
+        String description = parts[2];
+        Task task;
+
+        switch (taskType) {
+        case "T":
+            task = new ToDo(description);
+            break;
+        case "D":
+            String dueDate = parts[3];
+            task = new Deadline(description, dueDate);
+            break;
+        case "E":
+            String startDate = parts[3];
+            String endDate = parts[4];
+            task = new Event(description, startDate, endDate);
+            break;
+        default:
+            System.out.println("Unknown task type in file: " + taskType);
+            return null;
         }
+        task.setDone(isDone);
+        return task;
     }
 
 }
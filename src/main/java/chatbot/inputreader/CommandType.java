@@ -15,6 +15,15 @@ public enum CommandType {
     FIND,
     DUE,
     EDIT,
+    IMPORT,
+    EXPORT,
+    BETWEEN,
+    ON,
+    RUN,
+    BEGIN,
+    COMMIT,
+    ROLLBACK,
+    STATS,
     UNKNOWN;
 
     /**
@@ -36,6 +45,15 @@ public enum CommandType {
         case "find" -> FIND;
         case "due" -> DUE;
         case "edit" -> EDIT;
+        case "import" -> IMPORT;
+        case "export" -> EXPORT;
+        case "between" -> BETWEEN;
+        case "on" -> ON;
+        case "run" -> RUN;
+        case "begin" -> BEGIN;
+        case "commit" -> COMMIT;
+        case "rollback" -> ROLLBACK;
+        case "stats" -> STATS;
         default -> UNKNOWN;
         };
     }
@@ -1,39 +1,143 @@
 package chatbot.inputreader;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
+import chatbot.metrics.TaskFileWriteEvent;
 import chatbot.taskhandler.Task;
 
 /**
  * Utility class for reading from and writing to files.
  */
 public class FileWriting {
+    /** Prefix of the last line of the task file, which holds the CRC32 of every line before it. */
+    public static final String CHECKSUM_PREFIX = "# crc32 ";
+    public static final String TEMP_SUFFIX = ".tmp";
+    public static final String BACKUP_SUFFIX = ".bak";
+
+    private static final String LINE_SEPARATOR = "\n";
+    private static final int ESTIMATED_LINE_LENGTH = 48;
 
     /**
      * Writes the list of tasks to a file at the specified file path.
+     * The tasks are written to a temporary file in one go, forced to disk and then renamed over the old file,
+     * so a crash part way through never leaves a half-written task file behind.
      *
      * @param filePath The path to the file where tasks will be written.
      * @param tasks    The list of tasks to write to the file.
+     * @return The number of bytes written.
      * @throws IOException If an I/O error occurs.
      */
-    public static void writeToFile(String filePath, List<Task> tasks) throws IOException {
+    public static long writeToFile(String filePath, List<Task> tasks) throws IOException {
+        return writeToFile(filePath, tasks, StorageFormat.TEXT);
+    }
+
+    /**
+     * Writes the list of tasks to a file at the specified file path in the given format.
+     *
+     * @param filePath The path to the file where tasks will be written.
+     * @param tasks    The list of tasks to write to the file.
+     * @param format   The format to write the file in.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static long writeToFile(String filePath, List<Task> tasks, StorageFormat format) throws IOException {
         assert filePath != null && !filePath.isBlank() : "Filepath must not be null";
+        return writeEncoded(filePath, format, tasks.size(), encode(tasks, format));
+    }
+
+    /**
+     * Encodes the list of tasks as the contents of a task file in the given format, without writing it anywhere.
+     * Lets a caller take a consistent copy of the tasks while it holds a lock, and write it after letting go.
+     *
+     * @param tasks  The list of tasks to encode.
+     * @param format The format of the file.
+     * @return The contents of the file, in chunks to be written in order.
+     * @throws IOException If a task cannot be encoded.
+     */
+    public static byte[][] encode(List<Task> tasks, StorageFormat format) throws IOException {
         assert tasks != null : "tasks must not be null";
-        FileWriter writer = new FileWriter(filePath);
+        if (format == StorageFormat.BINARY) {
+            return BinaryTaskCodec.encodeFile(tasks);
+        }
+        StringBuilder content = new StringBuilder(tasks.size() * ESTIMATED_LINE_LENGTH);
         for (Task task : tasks) {
-            writer.write(task.formatData() + System.lineSeparator());
+            content.append(task.formatData()).append(LINE_SEPARATOR);
+        }
+        byte[] data = content.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] trailer = (CHECKSUM_PREFIX + checksumOf(data) + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+        return new byte[][] {data, trailer};
+    }
+
+    /**
+     * Replaces the task file with contents made by {@link #encode(List, StorageFormat)}.
+     * Each write is reported as a {@link TaskFileWriteEvent} when a Flight Recorder recording asks for it.
+     *
+     * @param filePath  The path to the file where tasks will be written.
+     * @param format    The format the contents are in.
+     * @param taskCount The number of tasks in the contents.
+     * @param chunks    The contents of the file.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static long writeEncoded(String filePath, StorageFormat format, int taskCount, byte[][] chunks)
+            throws IOException {
+        TaskFileWriteEvent event = new TaskFileWriteEvent();
+        event.begin();
+        long bytes = writeAtomically(Path.of(filePath), chunks);
+        event.finish(filePath, format, taskCount, bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes the given chunks to a temporary file next to the target, forces them to disk
+     * and renames the temporary file over the target.
+     *
+     * @param target The file to replace.
+     * @param chunks The bytes to write, in order.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static long writeAtomically(Path target, byte[]... chunks) throws IOException {
+        Path temp = Path.of(target + TEMP_SUFFIX);
+        long byteCount = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = new ByteBuffer[chunks.length];
+            for (int i = 0; i < chunks.length; i++) {
+                buffers[i] = ByteBuffer.wrap(chunks[i]);
+                byteCount += chunks[i].length;
+            }
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
-        writer.close();
+        return byteCount;
     }
 
     /**
      * Reads lines from a file at the specified file path.
      * If the file does not exist, it creates the file and its parent directories.
+     * If the file ends with a checksum line, the checksum is verified and the line is left out of the result.
+     * A file that fails the check is still returned, but a copy of it is kept with a ".bak" suffix.
      *
      * @param filePath The path to the file to read from.
      * @return A list of strings, each representing a line from the file.
@@ -51,8 +155,63 @@ public class FileWriting {
                 throw new IOException("Failed to create directory and file: " + filePath);
             }
         }
-        return Files.readAllLines(Path.of(filePath));
+        List<String> lines = Files.readAllLines(Path.of(filePath));
+        if (lines.isEmpty() || !lines.get(lines.size() - 1).startsWith(CHECKSUM_PREFIX)) {
+            return lines; // files saved before checksums were added have no trailer
+        }
+        String expectedChecksum = lines.get(lines.size() - 1).substring(CHECKSUM_PREFIX.length()).trim();
+        List<String> taskLines = lines.subList(0, lines.size() - 1);
+        if (!expectedChecksum.equals(checksumOf(taskLines))) {
+            keepDamagedCopy(filePath);
+        }
+        return taskLines;
     }
 
+    /**
+     * Copies a task file that failed its checksum to the same path with a ".bak" suffix and warns the user,
+     * so the original survives the next save even if only part of it could be loaded.
+     *
+     * @param filePath The path to the damaged file.
+     * @throws IOException If the copy cannot be made.
+     */
+    public static void keepDamagedCopy(String filePath) throws IOException {
+        Path backup = Path.of(filePath + BACKUP_SUFFIX);
+        Files.copy(Path.of(filePath), backup, StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("The task file " + filePath + " failed its checksum and may be damaged. "
+                + "A copy was kept at " + backup);
+    }
 
+    /**
+     * Computes the checksum of the given lines as they would be written to the task file.
+     *
+     * @param lines The lines of the task file, without the checksum line.
+     * @return The CRC32 of the lines as a hexadecimal string.
+     */
+    public static String checksumOf(List<String> lines) {
+        StringBuilder content = new StringBuilder(lines.size() * ESTIMATED_LINE_LENGTH);
+        for (String line : lines) {
+            content.append(line).append(LINE_SEPARATOR);
+        }
+        return checksumOf(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the checksum of a whole file as it is on disk, reading it in chunks.
+     *
+     * @param filePath The path to the file.
+     * @return The CRC32 of the file as a hexadecimal string.
+     * @throws IOException If the file cannot be read.
+     */
+    public static String checksumOfFile(String filePath) throws IOException {
+        try (CheckedInputStream in = new CheckedInputStream(Files.newInputStream(Path.of(filePath)), new CRC32())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return Long.toHexString(in.getChecksum().getValue());
+        }
+    }
+
+    private static String checksumOf(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return Long.toHexString(crc.getValue());
+    }
 }
@@ -0,0 +1,153 @@
+package chatbot.inputreader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.Task;
+
+/**
+ * Loads large task files in the text format by memory-mapping them and parsing chunks of lines in parallel.
+ * Lines are decoded one at a time straight from the mapped file, so the file text is never held in memory
+ * as a whole, and the tasks come back in the same order as in the file.
+ */
+public class ParallelTaskLoader {
+    /** Text files at least this large are loaded in parallel; smaller ones are not worth splitting. */
+    public static final long PARALLEL_THRESHOLD_BYTES = 1 << 20;
+
+    private static final int CHUNKS_PER_CORE = 4;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * Reads all tasks from a text task file.
+     * A file whose checksum line does not match is still read, but a copy of it is kept with a ".bak" suffix.
+     *
+     * @param filePath The path to the file to read from.
+     * @return The tasks in the file, in order.
+     * @throws IOException If an I/O error occurs or the file is too large to map.
+     */
+    public static List<Task> readFromFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The task file is too large to load: " + filePath);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int contentEnd = verifyChecksum(filePath, buffer);
+            int chunkCount = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE;
+            int[] boundaries = splitOnNewlines(buffer, contentEnd, chunkCount);
+
+            // each chunk is parsed on the common fork-join pool; toList keeps the chunks in file order
+            List<List<Task>> chunks = IntStream.range(0, boundaries.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseChunk(buffer, boundaries[i], boundaries[i + 1]))
+                    .toList();
+            int taskCount = chunks.stream().mapToInt(List::size).sum();
+            List<Task> tasks = new ArrayList<>(taskCount);
+            chunks.forEach(tasks::addAll);
+            return tasks;
+        }
+    }
+
+    /**
+     * Checks the trailing checksum line, if there is one, against the bytes before it.
+     *
+     * @return The position where the task lines end, i.e. the start of the checksum line or the end of the file.
+     */
+    private static int verifyChecksum(String filePath, ByteBuffer buffer) throws IOException {
+        int end = buffer.limit();
+        while (end > 0 && isLineBreak(buffer.get(end - 1))) {
+            end--;
+        }
+        int lastLineStart = end;
+        while (lastLineStart > 0 && buffer.get(lastLineStart - 1) != NEWLINE) {
+            lastLineStart--;
+        }
+        String lastLine = decodeLine(buffer, lastLineStart, end, new byte[end - lastLineStart]);
+        if (!lastLine.startsWith(FileWriting.CHECKSUM_PREFIX)) {
+            return buffer.limit(); // files saved before checksums were added have no trailer
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, lastLineStart));
+        String expectedChecksum = lastLine.substring(FileWriting.CHECKSUM_PREFIX.length()).trim();
+        if (!expectedChecksum.equals(Long.toHexString(crc.getValue()))) {
+            FileWriting.keepDamagedCopy(filePath);
+        }
+        return lastLineStart;
+    }
+
+    /**
+     * Splits [0, end) into about chunkCount ranges, moving each split point forward to just after a newline.
+     *
+     * @return The chunk boundaries, starting with 0 and ending with end.
+     */
+    private static int[] splitOnNewlines(ByteBuffer buffer, int end, int chunkCount) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+        int chunkSize = Math.max(end / chunkCount, 1);
+        int position = 0;
+        while (position + chunkSize < end) {
+            position += chunkSize;
+            while (position < end && buffer.get(position - 1) != NEWLINE) {
+                position++;
+            }
+            if (position < end) {
+                boundaries.add(position);
+            }
+        }
+        boundaries.add(end);
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static List<Task> parseChunk(ByteBuffer buffer, int start, int end) {
+        List<Task> tasks = new ArrayList<>();
+        byte[] lineBytes = new byte[256];
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && buffer.get(lineEnd) != NEWLINE) {
+                lineEnd++;
+            }
+            if (lineEnd - lineStart > lineBytes.length) {
+                lineBytes = new byte[lineEnd - lineStart];
+            }
+            String line = decodeLine(buffer, lineStart, lineEnd, lineBytes);
+            lineStart = lineEnd + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Task task = CommandHandler.parseStoredTask(line);
+                if (task != null) {
+                    tasks.add(task);
+                }
+            } catch (LeoException | RuntimeException e) {
+                System.out.println("Skipping bad line in task file: " + line);
+            }
+        }
+        return tasks;
+    }
+
+    private static String decodeLine(ByteBuffer buffer, int start, int end, byte[] scratch) {
+        int length = end - start;
+        if (length > 0 && buffer.get(end - 1) == CARRIAGE_RETURN) {
+            length--;
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isLineBreak(byte b) {
+        return b == NEWLINE || b == CARRIAGE_RETURN;
+    }
+}
@@ -0,0 +1,13 @@
+package chatbot.inputreader;
+
+/**
+ * Enum representing the ways the TaskManager can persist changes to disk.
+ */
+public enum PersistenceMode {
+    /** Rewrites the whole task file after every change. */
+    SNAPSHOT,
+    /** Appends one record per change to a journal and periodically compacts it into the task file. */
+    JOURNAL,
+    /** Rewrites the whole task file on a background thread, coalescing changes made close together. */
+    WRITE_BEHIND
+}
@@ -0,0 +1,11 @@
+package chatbot.inputreader;
+
+/**
+ * Enum representing the file formats the task file can be saved in.
+ */
+public enum StorageFormat {
+    /** Human readable lines such as "D | 0 | submit report | 2025-09-16 1800". */
+    TEXT,
+    /** Compact binary records, see {@link BinaryTaskCodec}. */
+    BINARY
+}
@@ -0,0 +1,45 @@
+package chatbot.inputreader;
+
+import java.io.IOException;
+import java.util.List;
+
+import chatbot.taskhandler.Task;
+
+/**
+ * The encoded contents of a task file, taken at one point in time. Once taken, later changes to the tasks
+ * do not affect it, so it can be written without holding any lock on them.
+ */
+public class TaskFileSnapshot {
+    private final StorageFormat format;
+    private final int taskCount;
+    private final byte[][] chunks;
+
+    private TaskFileSnapshot(StorageFormat format, int taskCount, byte[][] chunks) {
+        this.format = format;
+        this.taskCount = taskCount;
+        this.chunks = chunks;
+    }
+
+    /**
+     * Encodes the tasks as they are now. The caller must make sure that they do not change meanwhile.
+     *
+     * @param tasks  The tasks to encode.
+     * @param format The format of the task file.
+     * @return The snapshot.
+     * @throws IOException If a task cannot be encoded.
+     */
+    public static TaskFileSnapshot of(List<Task> tasks, StorageFormat format) throws IOException {
+        return new TaskFileSnapshot(format, tasks.size(), FileWriting.encode(tasks, format));
+    }
+
+    /**
+     * Replaces the task file at the given path with this snapshot.
+     *
+     * @param filePath The path to the task file.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public long writeTo(String filePath) throws IOException {
+        return FileWriting.writeEncoded(filePath, format, taskCount, chunks);
+    }
+}
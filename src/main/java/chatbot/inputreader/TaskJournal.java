@@ -0,0 +1,122 @@
+package chatbot.inputreader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import chatbot.taskhandler.Task;
+
+/**
+ * Append-only log of task mutations, stored next to the task file.
+ * Each mutation is a single line, so persisting one command costs the same no matter how many tasks there are.
+ * Records use the same " | " separator as the task file, e.g. "MARK | 3" or "ADD | T | 0 | read book",
+ * and are always stored in UTF-8 like the task file, whatever the platform's default charset.
+ * The first record, e.g. "BASE | 1c291ca3", holds the checksum of the task file the other records apply to,
+ * so that a journal which was already compacted into the task file is never applied to it a second time.
+ */
+public class TaskJournal {
+    public static final String JOURNAL_SUFFIX = ".log";
+    public static final String SEPARATOR = " | ";
+    public static final String ADD = "ADD";
+    public static final String MARK = "MARK";
+    public static final String UNMARK = "UNMARK";
+    public static final String DELETE = "DELETE";
+    public static final String EDIT = "EDIT";
+    public static final String BASE = "BASE";
+
+    private final String journalPath;
+    private int recordCount = 0;
+
+    /**
+     * Constructs a TaskJournal for the task file at the specified path.
+     *
+     * @param filePath The path to the task file the journal belongs to.
+     */
+    public TaskJournal(String filePath) {
+        assert filePath != null && !filePath.isBlank() : "Filepath must not be null or blank";
+        this.journalPath = filePath + JOURNAL_SUFFIX;
+    }
+
+    public static String baseRecord(String taskFileChecksum) {
+        return BASE + SEPARATOR + taskFileChecksum;
+    }
+
+    /**
+     * Returns the task file checksum held by a base record, or null if the record is not a base record.
+     * Journals written before base records were added start straight with a change.
+     */
+    public static String checksumOfBase(String record) {
+        String prefix = BASE + SEPARATOR;
+        return record.startsWith(prefix) ? record.substring(prefix.length()).trim() : null;
+    }
+
+    public static String addRecord(Task task) {
+        return ADD + SEPARATOR + task.formatData();
+    }
+
+    public static String markRecord(int index) {
+        return MARK + SEPARATOR + index;
+    }
+
+    public static String unmarkRecord(int index) {
+        return UNMARK + SEPARATOR + index;
+    }
+
+    public static String deleteRecord(int index) {
+        return DELETE + SEPARATOR + index;
+    }
+
+    public static String editRecord(int index, Task task) {
+        return EDIT + SEPARATOR + index + SEPARATOR + task.formatData();
+    }
+
+    /**
+     * Appends a single record to the end of the journal.
+     *
+     * @param record The record to append.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs.
+     */
+    public int append(String record) throws IOException {
+        assert record != null && !record.contains("\n") : "Journal record must be a single line";
+        byte[] line = (record + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        Files.write(Path.of(journalPath), line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        recordCount++;
+        return line.length;
+    }
+
+    /**
+     * Reads all records currently in the journal, in the order they were appended.
+     *
+     * @return The list of records, or an empty list if there is no journal yet.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<String> readRecords() throws IOException {
+        Path path = Path.of(journalPath);
+        if (!Files.exists(path)) {
+            recordCount = 0;
+            return new ArrayList<>();
+        }
+        List<String> records = Files.readAllLines(path, StandardCharsets.UTF_8);
+        recordCount = records.size();
+        return records;
+    }
+
+    /**
+     * Removes every record from the journal. Called once the records have been compacted into the task file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(Path.of(journalPath));
+        recordCount = 0;
+    }
+
+    public int size() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,139 @@
+package chatbot.inputreader;
+
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import chatbot.metrics.CommandMetrics;
+
+/**
+ * Writes the task file on a background thread so that commands do not wait for the disk.
+ * A change only marks the tasks dirty, which costs the same however many tasks there are. The tasks are
+ * encoded once the flush delay has passed, so all changes made within it are coalesced into a single write.
+ * A write that fails is tried again after another flush delay.
+ */
+public class WriteBehindFlusher {
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = 200;
+
+    private final String filePath;
+    private final long flushDelayMillis;
+    private final CommandMetrics metrics;
+    private final SnapshotSource snapshots;
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicBoolean isDirty = new AtomicBoolean();
+    private final AtomicInteger writeCount = new AtomicInteger();
+    private boolean isFailing = false;
+    private volatile boolean isClosed = false;
+
+    /**
+     * Takes the snapshot to write when a flush is due.
+     */
+    @FunctionalInterface
+    public interface SnapshotSource {
+        /**
+         * Returns a snapshot of the tasks as they are now, or null if they must not be written yet.
+         * A source that returns null must call {@link #markDirty()} again once they may be written.
+         *
+         * @throws IOException If the tasks cannot be encoded.
+         */
+        TaskFileSnapshot takeSnapshot() throws IOException;
+    }
+
+    /**
+     * Constructs a WriteBehindFlusher for the task file at the specified path.
+     *
+     * @param filePath         The path to the file where tasks are written.
+     * @param flushDelayMillis The longest time a change may wait before it is written.
+     * @param metrics          Where each write is recorded.
+     * @param snapshots        Where the tasks to write come from.
+     */
+    public WriteBehindFlusher(String filePath, long flushDelayMillis, CommandMetrics metrics,
+            SnapshotSource snapshots) {
+        assert filePath != null && !filePath.isBlank() : "Filepath must not be null or blank";
+        assert flushDelayMillis >= 0 : "Flush delay must not be negative";
+        this.filePath = filePath;
+        this.flushDelayMillis = flushDelayMillis;
+        this.metrics = metrics;
+        this.snapshots = snapshots;
+        this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "leo-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // once closed, nothing may write in the background, as the owner then writes the file itself
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Records that the tasks have changed. A write is scheduled unless one is already pending,
+     * in which case the pending write picks up this change too.
+     *
+     * @return False if the flusher has been closed, in which case the caller must write the change itself.
+     */
+    public boolean markDirty() {
+        if (isClosed) {
+            return false;
+        }
+        if (isDirty.compareAndSet(false, true)) {
+            try {
+                executor.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                return false; // closed in the meantime
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the tasks to the file straight away, if they have changed since the last write.
+     * Must not be called while holding a lock the snapshot source needs.
+     */
+    public synchronized void flush() {
+        if (!isDirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            TaskFileSnapshot snapshot = snapshots.takeSnapshot();
+            if (snapshot == null) {
+                return;
+            }
+            long startTime = System.nanoTime();
+            long bytes = snapshot.writeTo(filePath);
+            metrics.recordSave(System.nanoTime() - startTime, bytes);
+            writeCount.incrementAndGet();
+            isFailing = false;
+        } catch (IOException e) {
+            if (!isFailing) {
+                System.out.println("Something went wrong: " + e.getMessage() + ". Leo will keep trying to save.");
+            }
+            isFailing = true;
+            isDirty.set(true); // the changes are still in memory, so try again after the next delay
+            try {
+                executor.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                // closing, and close() makes the last attempt itself
+            }
+        }
+    }
+
+    /**
+     * Writes any pending changes and stops the background thread. Later changes are not accepted,
+     * see {@link #markDirty()}.
+     */
+    public void close() {
+        isClosed = true;
+        executor.shutdown();
+        flush();
+    }
+
+    public boolean isDirty() {
+        return isDirty.get();
+    }
+
+    public int getWriteCount() {
+        return writeCount.get();
+    }
+}
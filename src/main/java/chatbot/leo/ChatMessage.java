@@ -0,0 +1,47 @@
+package chatbot.leo;
+
+/**
+ * One message in the chat history, either typed by the user or replied by Leo.
+ * Only the messages are kept; the dialog boxes showing them are created for the visible rows alone.
+ */
+public class ChatMessage {
+    private static final String PENDING_TEXT = "Working on it...";
+
+    private final String text;
+    private final boolean isFromUser;
+    private final boolean isPending;
+
+    private ChatMessage(String text, boolean isFromUser, boolean isPending) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.isPending = isPending;
+    }
+
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true, false);
+    }
+
+    public static ChatMessage fromLeo(String text) {
+        return new ChatMessage(text, false, false);
+    }
+
+    /**
+     * Returns a placeholder for a reply of Leo that is still being worked out.
+     * Each call returns a new placeholder, so that it can be found again by identity and replaced by the reply.
+     */
+    public static ChatMessage pendingReply() {
+        return new ChatMessage(PENDING_TEXT, false, true);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public boolean isPending() {
+        return isPending;
+    }
+}
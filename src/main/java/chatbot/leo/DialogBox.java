@@ -49,6 +49,20 @@ public class DialogBox extends HBox {
         dialog.getStyleClass().add("reply-label");
     }
 
+    public void setText(String text) {
+        dialog.setText(text);
+    }
+
+    /**
+     * Shows the text faded out while the reply it stands in for is still being worked out.
+     */
+    public void setPending(boolean isPending) {
+        dialog.getStyleClass().remove("pending-label");
+        if (isPending) {
+            dialog.getStyleClass().add("pending-label");
+        }
+    }
+
     public static DialogBox getUserDialog(String text, Image img) {
         return new DialogBox(text, img);
     }
@@ -1,8 +1,17 @@
 package chatbot.leo;
 
+import java.io.IOException;
+
 import chatbot.exceptions.LeoException;
 import chatbot.inputreader.CommandHandler;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.inputreader.WriteBehindFlusher;
 import chatbot.taskhandler.TaskManager;
+import chatbot.ui.AsyncConsoleSink;
+import chatbot.ui.ConsoleSink;
+import chatbot.ui.OutputSink;
+import chatbot.ui.SilentSink;
 import chatbot.ui.Ui;
 
 
@@ -11,6 +20,20 @@ import chatbot.ui.Ui;
  * It initializes the necessary components and starts the interaction loop with the user.
  */
 public class Leo {
+    /** System property used to pick the persistence mode, e.g. -Dleo.persistence=write_behind. */
+    public static final String PERSISTENCE_PROPERTY = "leo.persistence";
+    /** System property used to pick the task file format, e.g. -Dleo.format=binary. */
+    public static final String FORMAT_PROPERTY = "leo.format";
+    /**
+     * System property used to pick where messages are printed: none (the default, as the GUI shows replies itself),
+     * console, or async for a console writer that does not hold up commands.
+     */
+    public static final String OUTPUT_PROPERTY = "leo.output";
+    /** Command line argument that starts Leo as a server for local clients instead of running a file. */
+    public static final String SERVER_FLAG = "--server";
+
+    private final OutputSink output;
+    private final TaskManager taskManager;
     private final CommandHandler commandHandler;
 
     /**
@@ -19,7 +42,11 @@ public class Leo {
      * @param filePath The file path where tasks are stored.
      */
     public Leo(String filePath) {
-        TaskManager taskManager = new TaskManager(filePath);
+        String mode = System.getProperty(PERSISTENCE_PROPERTY, PersistenceMode.JOURNAL.name());
+        String format = System.getProperty(FORMAT_PROPERTY, StorageFormat.TEXT.name());
+        this.output = createOutputSink(System.getProperty(OUTPUT_PROPERTY, "none"));
+        this.taskManager = new TaskManager(filePath, PersistenceMode.valueOf(mode.toUpperCase()),
+                StorageFormat.valueOf(format.toUpperCase()), WriteBehindFlusher.DEFAULT_FLUSH_DELAY_MILLIS, output);
         this.commandHandler = new CommandHandler(taskManager);
     }
 
@@ -29,7 +56,7 @@ public class Leo {
      */
     public String start(String input) {
         Ui ui = new Ui();
-        System.out.println(ui.showWelcome());
+        output.print(ui.showWelcome());
         if (!input.equals("bye")) {
             try {
                 String output = commandHandler.handleCommand(input);
@@ -40,12 +67,60 @@ public class Leo {
             }
         }
         String goodbyeMsg = ui.showGoodbye();
-        System.out.println(goodbyeMsg);
+        output.print(goodbyeMsg);
+        shutdown();
         return "null";
     }
 
-    public static void main(String[] args) {
+    /**
+     * Makes sure all changes are saved before the application exits.
+     */
+    public void shutdown() {
+        taskManager.close();
+        output.close();
+    }
+
+    private static OutputSink createOutputSink(String name) {
+        switch (name.toLowerCase()) {
+        case "console":
+            return new ConsoleSink();
+        case "async":
+            return new AsyncConsoleSink();
+        default:
+            return new SilentSink();
+        }
+    }
+
+    /**
+     * Runs Leo without the GUI. With --server [PORT], serves commands to local clients until the process is stopped,
+     * e.g. java chatbot.leo.Leo --server 7878. Otherwise runs a command file and prints a summary of the run,
+     * e.g. java chatbot.leo.Leo migration.txt --persist-every 1000, taking the same arguments as the run command.
+     */
+    public static void main(String[] args) throws LeoException, IOException {
         Leo leo = new Leo("data/leo.txt");
+        if (args.length > 0 && args[0].equals(SERVER_FLAG)) {
+            leo.serve(args.length > 1 ? Integer.parseInt(args[1]) : LeoServer.DEFAULT_PORT);
+            return;
+        }
+        if (args.length > 0) {
+            System.out.println(leo.commandHandler.handleCommand("run " + String.join(" ", args)));
+        }
+        leo.shutdown();
+    }
+
+    /**
+     * Starts serving commands on a local port. Everything is saved and the request latencies are printed
+     * when the process is stopped.
+     */
+    private void serve(int port) throws IOException {
+        LeoServer server = new LeoServer(taskManager, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            shutdown();
+            System.out.println("Served " + server.getLatency().summarize("commands"));
+        }));
+        server.start();
+        System.out.println("Leo is listening on localhost:" + server.getPort());
     }
 
 }
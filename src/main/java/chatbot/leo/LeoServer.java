@@ -0,0 +1,169 @@
+package chatbot.leo;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import chatbot.exceptions.LeoException;
+import chatbot.inputreader.CommandHandler;
+import chatbot.metrics.LatencyHistogram;
+import chatbot.taskhandler.TaskManager;
+import chatbot.ui.SilentSink;
+
+/**
+ * Serves Leo commands over TCP on this machine only, so several scripts and windows can share one task list.
+ * Clients send one command per line. Each reply is sent back as its lines followed by an empty line.
+ * The line "bye" closes the connection.
+ * Each connection is served on its own virtual thread when the Java runtime has them (Java 21 and later),
+ * and on a pooled platform thread otherwise. All connections share one thread-safe {@link TaskManager},
+ * so transactions, scripts and changing the page size are not available to them.
+ */
+public class LeoServer implements AutoCloseable {
+    /** Port the server listens on unless another one is given. */
+    public static final int DEFAULT_PORT = 7878;
+
+    private final TaskManager taskManager;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = createConnectionExecutor();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Thread acceptor;
+
+    /**
+     * Constructs a LeoServer listening on the loopback address. Connections are accepted once it is started.
+     *
+     * @param taskManager The task manager shared by all connections.
+     * @param port        The port to listen on, or 0 to let the system pick a free one.
+     * @throws IOException If the port cannot be opened.
+     */
+    public LeoServer(TaskManager taskManager, int port) throws IOException {
+        assert taskManager != null : "Task manager must not be null";
+        this.taskManager = taskManager;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptConnections, "leo-server");
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     */
+    public void start() {
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the time taken to handle each command, from receiving the line to having the reply ready.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones. The shared task manager is left open.
+     */
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Something went wrong while stopping the server: " + e.getMessage());
+        }
+        for (Socket client : clients) {
+            closeQuietly(client);
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true); // replies are small and sent whole, so don't hold them back
+                clients.add(client);
+                executor.execute(() -> serve(client));
+            } catch (SocketException e) {
+                return; // the server socket was closed
+            } catch (IOException e) {
+                System.out.println("Something went wrong while accepting a connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        // every connection gets its own shared handler, which refuses commands that would affect the others
+        CommandHandler commandHandler = new CommandHandler(taskManager, new SilentSink(), true);
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase("bye")) {
+                    writeReply(out, "Bye ! Hope to see you soon!");
+                    return;
+                }
+                long startTime = System.nanoTime();
+                String reply = handle(commandHandler, line);
+                latency.record(System.nanoTime() - startTime);
+                writeReply(out, reply);
+            }
+        } catch (IOException e) {
+            // the client went away; nothing to reply to
+        } finally {
+            clients.remove(client);
+            closeQuietly(client);
+        }
+    }
+
+    private static String handle(CommandHandler commandHandler, String line) {
+        try {
+            return commandHandler.handleCommand(line);
+        } catch (LeoException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void writeReply(BufferedWriter out, String reply) throws IOException {
+        out.write(reply.replace("\n\n", "\n"));
+        out.write("\n\n");
+        out.flush();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed or broken; either way it is gone
+        }
+    }
+
+    /**
+     * Uses a virtual thread per connection where the runtime supports it. This is looked up at run time,
+     * as the code is built for Java 17, which does not have virtual threads.
+     */
+    private static ExecutorService createConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "leo-server-connection");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -14,6 +14,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Leo leo = new Leo("data/leo.txt");
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -22,10 +23,19 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setLeo(leo); // inject the Duke instance
+            mainWindow = fxmlLoader.<MainWindow>getController();
+            mainWindow.setLeo(leo); // inject the Duke instance
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        if (mainWindow != null) {
+            mainWindow.shutdown(); // let commands still running finish their changes first
+        }
+        leo.shutdown(); // save anything still waiting to be written before the window closes
+    }
 }
@@ -1,30 +1,53 @@
 package chatbot.leo;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
 /**
  * Controller for the main GUI.
+ * The chat history is a {@link ListView}, which only creates dialog boxes for the rows on screen and reuses
+ * them while scrolling, so a long session does not slow the window down. The oldest messages are dropped
+ * once there are more than the history limit.
+ * Commands run one at a time on a background thread, so the window stays responsive while a command saves
+ * or lists a large number of tasks. A placeholder stands in for each reply until it is ready.
  */
 public class MainWindow extends AnchorPane {
+    /**
+     * System property setting how many messages the chat history keeps, e.g. -Dleo.history.limit=5000.
+     */
+    public static final String HISTORY_LIMIT_PROPERTY = "leo.history.limit";
+    public static final int DEFAULT_HISTORY_LIMIT = 1000;
+    private static final double SCROLL_BAR_WIDTH = 20.0; // keeps dialog boxes clear of the scroll bar
+    private static final long SHUTDOWN_NOTICE_SECONDS = 10; // how often shutting down reports that it still waits
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Leo leo;
+    // a single thread runs the commands in the order they were typed, so their replies arrive in that order too
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "leo-commands");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int historyLimit = Math.max(1, Integer.getInteger(HISTORY_LIMIT_PROPERTY, DEFAULT_HISTORY_LIMIT));
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/userImage.png"));
     private Image leoImage = new Image(this.getClass().getResourceAsStream("/images/leoImage.png"));
@@ -35,10 +58,10 @@ public class MainWindow extends AnchorPane {
     @FXML
     public void initialize() {
         userInput.clear();
+        dialogList.setCellFactory(list -> new DialogCell());
         String welcomeMessage = "Hello, I'm Leo, your favorite chatbot!\n"
                 + "What can I do for you today?";
-        dialogContainer.getChildren().add(DialogBox.getLeoDialog(welcomeMessage, leoImage));
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        addMessages(ChatMessage.fromLeo(welcomeMessage));
     }
 
     /** Injects the Leo instance */
@@ -47,32 +70,126 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Waits for the commands still queued to finish, however long they take, so that no command is still
+     * changing the tasks when Leo saves them and shuts down.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
+        try {
+            while (!commandExecutor.awaitTermination(SHUTDOWN_NOTICE_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Waiting for the last commands to finish before saving...");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // a command finishing after this still saves its own changes
+        }
+    }
+
+    /**
+     * Adds the user input and a placeholder for Leo's reply to the chat history, then runs the command
+     * in the background. The placeholder is replaced by the reply once it is ready.
+     * Clears the user input straight away, so the next command can be typed while this one runs.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
+        userInput.clear();
 
         if (input.equalsIgnoreCase("bye")) {
-            String exitMsg = "Bye ! Hope to see you soon!";
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getLeoDialog(exitMsg, leoImage)
-            );
-            PauseTransition pause = new PauseTransition(Duration.seconds(1));
-            pause.setOnFinished(event -> {
-                Platform.exit();
-            });
-            pause.play();
+            addMessages(ChatMessage.fromUser(input));
+            // say goodbye only after the commands typed before it have replied
+            commandExecutor.execute(() -> Platform.runLater(this::sayGoodbye));
         } else {
-            String response = leo.start(input);
-            dialogContainer.getChildren().addAll(
-                    DialogBox.getUserDialog(input, userImage),
-                    DialogBox.getLeoDialog(response, leoImage)
-            );
+            ChatMessage pendingReply = ChatMessage.pendingReply();
+            addMessages(ChatMessage.fromUser(input), pendingReply);
+            commandExecutor.execute(() -> {
+                String response = runCommand(input);
+                Platform.runLater(() -> showReply(pendingReply, response));
+            });
         }
+    }
 
-        userInput.clear();
+    private String runCommand(String input) {
+        try {
+            return leo.start(input);
+        } catch (RuntimeException e) {
+            return "Something went wrong: " + e.getMessage(); // the placeholder must still get a reply
+        }
+    }
+
+    private void showReply(ChatMessage pendingReply, String response) {
+        ObservableList<ChatMessage> history = dialogList.getItems();
+        int index = history.lastIndexOf(pendingReply);
+        if (index < 0) {
+            return; // the placeholder was already dropped from the history
+        }
+        history.set(index, ChatMessage.fromLeo(response));
+        if (index == history.size() - 1) {
+            dialogList.scrollTo(index);
+        }
+    }
+
+    private void sayGoodbye() {
+        String exitMsg = "Bye ! Hope to see you soon!";
+        addMessages(ChatMessage.fromLeo(exitMsg));
+        PauseTransition pause = new PauseTransition(Duration.seconds(1));
+        pause.setOnFinished(event -> {
+            Platform.exit();
+        });
+        pause.play();
+    }
+
+    private void addMessages(ChatMessage... messages) {
+        ObservableList<ChatMessage> history = dialogList.getItems();
+        history.addAll(messages);
+        int excess = history.size() - historyLimit;
+        if (excess > 0) {
+            history.remove(0, excess);
+        }
+        dialogList.scrollTo(history.size() - 1);
+    }
+
+    /**
+     * Shows one message of the chat history. Each cell keeps a dialog box for each speaker and only
+     * changes its text when it is reused for another message.
+     */
+    private class DialogCell extends ListCell<ChatMessage> {
+        private DialogBox userDialog;
+        private DialogBox leoDialog;
+
+        DialogCell() {
+            setPrefWidth(0); // let the list decide the width, so long messages wrap instead of scrolling sideways
+        }
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+            DialogBox dialogBox = message.isFromUser() ? getUserDialog() : getLeoDialog();
+            dialogBox.setText(message.getText());
+            dialogBox.setPending(message.isPending());
+            setGraphic(dialogBox);
+        }
+
+        private DialogBox getUserDialog() {
+            if (userDialog == null) {
+                userDialog = fitToList(DialogBox.getUserDialog("", userImage));
+            }
+            return userDialog;
+        }
+
+        private DialogBox getLeoDialog() {
+            if (leoDialog == null) {
+                leoDialog = fitToList(DialogBox.getLeoDialog("", leoImage));
+            }
+            return leoDialog;
+        }
+
+        private DialogBox fitToList(DialogBox dialogBox) {
+            dialogBox.prefWidthProperty().bind(dialogList.widthProperty().subtract(SCROLL_BAR_WIDTH));
+            return dialogBox;
+        }
     }
 }
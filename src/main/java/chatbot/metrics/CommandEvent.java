@@ -0,0 +1,52 @@
+package chatbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import chatbot.inputreader.CommandType;
+
+/**
+ * Java Flight Recorder event for one command handled by {@link chatbot.inputreader.CommandHandler}.
+ * Disabled unless a recording turns it on, e.g. with config/jfr/leo.jfc, in which case it costs nothing.
+ */
+@Name("chatbot.Command")
+@Label("Leo Command")
+@Category("Leo")
+@Description("A command typed by the user or read from a script, from parsing it to having the reply ready")
+@Enabled(false)
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Reply Length")
+    @Description("Number of characters in the reply")
+    private int replyLength;
+
+    @Label("Failed")
+    @Description("Whether the command was rejected with an error message")
+    private boolean failed;
+
+    /**
+     * Ends the event and commits it with the given details, if a recording has this event turned on.
+     * The details are only turned into strings once the event is known to be committed.
+     *
+     * @param commandType The type of the command.
+     * @param reply       The reply to the command, or null if it ended with an unexpected exception.
+     * @param failed      Whether the reply is an error message.
+     */
+    public void finish(CommandType commandType, String reply, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.commandType = commandType.name().toLowerCase();
+            this.replyLength = reply == null ? 0 : reply.length();
+            this.failed = failed;
+            commit();
+        }
+    }
+}
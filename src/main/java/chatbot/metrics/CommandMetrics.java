@@ -0,0 +1,106 @@
+package chatbot.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import chatbot.inputreader.CommandType;
+
+/**
+ * Times every command, split into parsing, executing in memory and saving, and counts the bytes saved.
+ * All recording is lock-free and costs a few counter updates, so it is always on.
+ * One instance is shared by everything using the same {@link chatbot.taskhandler.TaskManager}.
+ */
+public class CommandMetrics {
+    private final LatencyHistogram[] commands = new LatencyHistogram[CommandType.values().length];
+    private final LatencyHistogram parsing = new LatencyHistogram();
+    private final LatencyHistogram executing = new LatencyHistogram();
+    private final LatencyHistogram saving = new LatencyHistogram();
+    private final LongAdder bytesWritten = new LongAdder();
+    // time spent saving on each thread, so a command can leave its own saves out of its execution time
+    private final ThreadLocal<long[]> saveNanosOfThread = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Constructs a CommandMetrics with nothing recorded.
+     */
+    public CommandMetrics() {
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records one command from the moment it was received until its reply was ready.
+     *
+     * @param type  The type of the command.
+     * @param nanos How long the whole command took, in nanoseconds.
+     */
+    public void recordCommand(CommandType type, long nanos) {
+        commands[type.ordinal()].record(nanos);
+    }
+
+    public void recordParse(long nanos) {
+        parsing.record(nanos);
+    }
+
+    public void recordExecution(long nanos) {
+        executing.record(nanos);
+    }
+
+    /**
+     * Records one write to the task file or the journal. Called on the thread that did the write.
+     *
+     * @param nanos How long the write took, in nanoseconds.
+     * @param bytes How many bytes were written.
+     */
+    public void recordSave(long nanos, long bytes) {
+        saving.record(nanos);
+        bytesWritten.add(bytes);
+        saveNanosOfThread.get()[0] += nanos;
+    }
+
+    /**
+     * Returns the total time the calling thread has spent saving. The difference between two calls is the time
+     * saved in between, which lets a command tell its execution apart from its saving.
+     */
+    public long getSaveNanosOfThisThread() {
+        return saveNanosOfThread.get()[0];
+    }
+
+    public LatencyHistogram getCommandLatency(CommandType type) {
+        return commands[type.ordinal()];
+    }
+
+    public LatencyHistogram getParseLatency() {
+        return parsing;
+    }
+
+    public LatencyHistogram getExecutionLatency() {
+        return executing;
+    }
+
+    public LatencyHistogram getSaveLatency() {
+        return saving;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Describes the recorded times, one line per command type that has been used, then one line each
+     * for parsing, executing and saving.
+     */
+    public String summarize() {
+        StringBuilder summary = new StringBuilder("Here is how long commands have taken:");
+        for (CommandType type : CommandType.values()) {
+            LatencyHistogram latency = commands[type.ordinal()];
+            if (latency.getCount() > 0) {
+                summary.append('\n').append(type.name().toLowerCase()).append(": ").append(latency.summarize("runs"));
+            }
+        }
+        summary.append("\nParsing: ").append(parsing.summarize("commands"))
+                .append("\nExecuting in memory: ").append(executing.summarize("commands"))
+                .append("\nSaving: ").append(saving.summarize("writes"))
+                .append(", ").append(getBytesWritten()).append(" bytes written");
+        return summary.toString();
+    }
+}
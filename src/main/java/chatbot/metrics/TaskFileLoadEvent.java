@@ -0,0 +1,62 @@
+package chatbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for loading the task file when a {@link chatbot.taskhandler.TaskManager} starts.
+ * Disabled unless a recording turns it on, e.g. with config/jfr/leo.jfc, in which case it costs nothing.
+ */
+@Name("chatbot.TaskFileLoad")
+@Label("Leo Task File Load")
+@Category("Leo")
+@Description("The task file being read and turned into tasks")
+@Enabled(false)
+@StackTrace(false)
+public class TaskFileLoadEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Format")
+    private String format;
+
+    @Label("Lines")
+    @Description("Lines of a small text file, or tasks read from a binary or large text file")
+    private int lineCount;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Parse Time")
+    @Description("Time spent turning lines into tasks. Binary files and large text files are read and parsed "
+            + "in one step, so for them this is the whole read")
+    @Timespan(Timespan.NANOSECONDS)
+    private long parseTime;
+
+    /**
+     * Ends the event and commits it with the given details, if a recording has this event turned on.
+     *
+     * @param path       The task file loaded.
+     * @param format     How the file was read, e.g. "binary".
+     * @param lineCount  The number of lines or binary records read.
+     * @param taskCount  The number of tasks loaded from them.
+     * @param parseNanos The time spent parsing, in nanoseconds.
+     */
+    public void finish(String path, String format, int lineCount, int taskCount, long parseNanos) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.format = format;
+            this.lineCount = lineCount;
+            this.taskCount = taskCount;
+            this.parseTime = parseNanos;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package chatbot.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import chatbot.inputreader.StorageFormat;
+
+/**
+ * Java Flight Recorder event for one write of the whole task file by {@link chatbot.inputreader.FileWriting}.
+ * Disabled unless a recording turns it on, e.g. with config/jfr/leo.jfc, in which case it costs nothing.
+ */
+@Name("chatbot.TaskFileWrite")
+@Label("Leo Task File Write")
+@Category("Leo")
+@Description("The task file being written to a temporary file, forced to disk and renamed into place")
+@Enabled(false)
+public class TaskFileWriteEvent extends Event {
+    @Label("Path")
+    private String path;
+
+    @Label("Format")
+    private String format;
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    private long bytesWritten;
+
+    /**
+     * Ends the event and commits it with the given details, if a recording has this event turned on.
+     * The details are only turned into strings once the event is known to be committed.
+     *
+     * @param path         The task file written.
+     * @param format       The format it was written in.
+     * @param taskCount    The number of tasks written.
+     * @param bytesWritten The size of the file written.
+     */
+    public void finish(String path, StorageFormat format, int taskCount, long bytesWritten) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.format = format.name().toLowerCase();
+            this.taskCount = taskCount;
+            this.bytesWritten = bytesWritten;
+            commit();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package chatbot.parser;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
@@ -18,11 +20,13 @@ public class DateTimeParser {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy HH:mm");
 
     /**
      * Parses a date string into a LocalDateTime object.
      * Accepts formats "yyyy-MM-dd HHmm" or "yyyy-MM-dd".
      * If only date is provided, time defaults to 00:00.
+     * The usual shapes are read straight from the characters; anything unusual goes through the formatters.
      *
      * @param dateString The input date string.
      * @param fieldName  The name of the field for error messages.
@@ -31,27 +35,116 @@ public class DateTimeParser {
      */
     public static LocalDateTime parseDateTime(String dateString, String fieldName) throws LeoException {
         // Guard: empty/null input
-        if (dateString == null || dateString.trim().isEmpty()) {
+        if (dateString == null || dateString.isBlank()) {
             throw new LeoException("UH-OH!!! The " + fieldName + " cannot be empty.");
         }
 
-        // cut spaces : "2025-09-16   1230" -> "2025-09-16 1230")
-        String s = dateString.trim().replaceAll("\\s+", " ");
+        LocalDateTime dateTime = parseCommonShape(dateString);
+        if (dateTime != null) {
+            return dateTime;
+        }
+        return parseWithFormatter(dateString, fieldName);
+    }
 
-        // Try full datetime first
-        try {
-            return LocalDateTime.parse(s, DATE_TIME_FORMATTER);
-        } catch (DateTimeParseException ignored) {
-            // fall through to date-only
+    /**
+     * Reads "yyyy-MM-dd" or "yyyy-MM-dd HHmm" (with any spaces or tabs before the time) without allocating
+     * anything but the result.
+     *
+     * @return The date and time, or null if the input is not in one of these shapes or has out of range values.
+     */
+    private static LocalDateTime parseCommonShape(String s) {
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start < DATE_FORMAT.length()
+                || s.charAt(start + 4) != '-' || s.charAt(start + 7) != '-') {
+            return null;
+        }
+        int year = readDigits(s, start, 4);
+        int month = readDigits(s, start + 5, 2);
+        int day = readDigits(s, start + 8, 2);
+        int hour = 0;
+        int minute = 0;
+        int timeStart = start + DATE_FORMAT.length();
+        if (timeStart < end) {
+            if (end - timeStart < 5 || readDigits(s, end - 4, 4) < 0) {
+                return null;
+            }
+            for (int i = timeStart; i < end - 4; i++) {
+                if (s.charAt(i) != ' ' && s.charAt(i) != '\t') {
+                    return null;
+                }
+            }
+            hour = readDigits(s, end - 4, 2);
+            minute = readDigits(s, end - 2, 2);
+        }
+        // leave anything the formatters resolve specially, like the 31st of a 30-day month, to them
+        if (year < 1 || month < 1 || month > 12 || day < 1 || hour > 23 || minute > 59
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @return The value of the digits, or -1 if any of the characters is not a digit.
+     */
+    private static int readDigits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
         }
+        return value;
+    }
 
-        // Try date-only next (set time to 00:00)
+    private static LocalDateTime parseWithFormatter(String dateString, String fieldName) throws LeoException {
+        // cut spaces : "2025-09-16   1230" -> "2025-09-16 1230")
+        String s = dateString.trim().replaceAll("\\s+", " ");
+        // a space can only appear before a time, so the shape decides which formatter applies
+        boolean hasTime = s.indexOf(' ') >= 0;
         try {
-            LocalDate d = LocalDate.parse(s, DATE_FORMATTER);
-            return LocalDateTime.of(d, LocalTime.MIDNIGHT);
+            if (hasTime) {
+                return LocalDateTime.parse(s, DATE_TIME_FORMATTER);
+            }
+            return LocalDateTime.of(LocalDate.parse(s, DATE_FORMATTER), LocalTime.MIDNIGHT);
         } catch (DateTimeParseException ex) {
             throw new LeoException("UH-OH!!! The " + fieldName + " format is invalid. "
                     + "Please use YYYY-MM-DD or YYYY-MM-DD HHMM format. Invalid input: '" + s + "'");
         }
     }
+
+    /**
+     * Formats a LocalDateTime back into the input format accepted by {@link #parseDateTime(String, String)}.
+     * Times at midnight are written as date only, e.g. "2025-09-16", otherwise as "2025-09-16 1230".
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date string.
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        if (dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return dateTime.format(DATE_FORMATTER);
+        }
+        return dateTime.format(DATE_TIME_FORMATTER);
+    }
+
+    /**
+     * Formats a LocalDateTime for showing to the user, e.g. "Sep 16 2025 12:30".
+     *
+     * @param dateTime The date and time to format.
+     * @return The formatted date string.
+     */
+    public static String formatForDisplay(LocalDateTime dateTime) {
+        return DISPLAY_FORMATTER.format(dateTime);
+    }
 }
@@ -0,0 +1,168 @@
+package chatbot.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A user command split up in a single pass over its characters, without regular expressions, e.g.
+ * "deadline return book /by 2025-09-16 1800" has the verb "deadline", the description "return book"
+ * and the flag "by" with the value "2025-09-16 1800".
+ * A flag is a '/' followed by one of the {@link #FLAG_NAMES}. Its value is the text up to the next flag.
+ * Any other word starting with '/', such as a path, is kept as part of the description or value.
+ * Command handlers share one ParsedCommand instead of splitting the input again.
+ */
+public class ParsedCommand {
+    /** The flags the commands understand: /by for deadlines, /from and /to for events, and /name for edits. */
+    public static final List<String> FLAG_NAMES = List.of("by", "from", "to", "name");
+
+    private final String input;
+    private final String[] words;
+    private final String text;
+    private final String description;
+    private final List<String> flagNames;
+    private final List<String> flagValues;
+
+    private ParsedCommand(String input, String[] words, String text, String description,
+            List<String> flagNames, List<String> flagValues) {
+        this.input = input;
+        this.words = words;
+        this.text = text;
+        this.description = description;
+        this.flagNames = flagNames;
+        this.flagValues = flagValues;
+    }
+
+    /**
+     * Splits a command into its words, description and flags.
+     *
+     * @param input The command as typed by the user.
+     * @return The parsed command.
+     */
+    public static ParsedCommand parse(String input) {
+        assert input != null : "Input must not be null";
+        List<String> words = new ArrayList<>();
+        List<String> flagNames = new ArrayList<>(2);
+        List<String> flagValues = new ArrayList<>(2);
+        String description = null;
+        int textStart = -1;
+        int textEnd = -1;
+        int segmentStart = -1; // first character of the description or of the current flag's value
+        int segmentEnd = -1;
+
+        int length = input.length();
+        int i = 0;
+        while (true) {
+            while (i < length && Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int wordStart = i;
+            while (i < length && !Character.isWhitespace(input.charAt(i))) {
+                i++;
+            }
+            words.add(input.substring(wordStart, i));
+            if (words.size() == 1) {
+                continue; // the verb
+            }
+            if (textStart < 0) {
+                textStart = wordStart;
+            }
+            textEnd = i;
+            if (isFlag(input, wordStart, i)) {
+                String segment = segmentStart < 0 ? "" : input.substring(segmentStart, segmentEnd);
+                if (description == null) {
+                    description = segment;
+                } else {
+                    flagValues.add(segment);
+                }
+                flagNames.add(input.substring(wordStart + 1, i));
+                segmentStart = -1;
+            } else {
+                if (segmentStart < 0) {
+                    segmentStart = wordStart;
+                }
+                segmentEnd = i;
+            }
+        }
+        String segment = segmentStart < 0 ? "" : input.substring(segmentStart, segmentEnd);
+        if (description == null) {
+            description = segment;
+        } else {
+            flagValues.add(segment);
+        }
+        if (words.isEmpty()) {
+            words.add("");
+        }
+        String text = textStart < 0 ? "" : input.substring(textStart, textEnd);
+        return new ParsedCommand(input, words.toArray(new String[0]), text, description, flagNames, flagValues);
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the first word of the command, e.g. "mark", or an empty string if the command is blank.
+     */
+    public String getVerb() {
+        return words[0];
+    }
+
+    /**
+     * Returns all the words of the command, starting with the verb. The array must not be modified.
+     */
+    public String[] getWords() {
+        return words;
+    }
+
+    /**
+     * Returns everything after the verb, with surrounding whitespace removed and flags left in.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the text between the verb and the first flag, with surrounding whitespace removed.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    public int getFlagCount() {
+        return flagNames.size();
+    }
+
+    public String getFlagName(int position) {
+        return flagNames.get(position);
+    }
+
+    public String getFlagValue(int position) {
+        return flagValues.get(position);
+    }
+
+    /**
+     * Returns the value of the first flag with the given name.
+     *
+     * @param name The flag name without the '/', e.g. "by".
+     * @return The value, which is empty if nothing follows the flag, or null if the flag is not given.
+     */
+    public String getFlag(String name) {
+        int position = flagNames.indexOf(name);
+        return position < 0 ? null : flagValues.get(position);
+    }
+
+    private static boolean isFlag(String input, int start, int end) {
+        if (end - start < 2 || input.charAt(start) != '/') {
+            return false;
+        }
+        for (String name : FLAG_NAMES) {
+            if (name.length() == end - start - 1 && input.startsWith(name, start + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
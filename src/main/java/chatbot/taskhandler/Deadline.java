@@ -1,7 +1,6 @@
 package chatbot.taskhandler;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import chatbot.exceptions.LeoException;
 import chatbot.parser.DateTimeParser;
@@ -27,9 +26,30 @@ public class Deadline extends Task {
 
     }
 
+    /**
+     * Constructs a Deadline object with the specified name and an already parsed due date.
+     *
+     * @param name    The name of the task.
+     * @param dueDate The due date of the task.
+     */
+    public Deadline(String name, LocalDateTime dueDate) {
+        super(name);
+        this.dueDate = dueDate; // the string form is only worked out if the task is saved as text
+    }
+
     public void setBy(String dueDate) throws LeoException {
         this.dueDate = DateTimeParser.parseDateTime(dueDate, "dueDate");
         this.stringDueDate = dueDate;
+        invalidateDisplayString();
+    }
+
+    /**
+     * Sets an already parsed due date.
+     */
+    public void setBy(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+        this.stringDueDate = null; // worked out again if the task is saved as text
+        invalidateDisplayString();
     }
 
     public LocalDateTime getDueDate() {
@@ -37,13 +57,15 @@ public class Deadline extends Task {
     }
 
     public String formatData() {
+        if (stringDueDate == null) {
+            stringDueDate = DateTimeParser.formatDateTime(dueDate);
+        }
         return "D | " + super.formatData() + " | " + stringDueDate;
     }
 
 
     @Override
-    public String toString() {
-        return "[D] " + super.toString() + " (by: "
-                + dueDate.format(DateTimeFormatter.ofPattern("MMM d yyyy HH:mm")) + ")";
+    protected String render() {
+        return "[D] " + super.render() + " (by: " + DateTimeParser.formatForDisplay(dueDate) + ")";
     }
 }
@@ -1,7 +1,6 @@
 package chatbot.taskhandler;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 import chatbot.exceptions.LeoException;
 import chatbot.parser.DateTimeParser;
@@ -32,6 +31,23 @@ public class Event extends Task {
 
     }
 
+    /**
+     * Constructs an Event object with the specified name and already parsed start and end dates.
+     *
+     * @param name      The name of the task.
+     * @param startDate The start date of the event.
+     * @param endDate   The end date of the event.
+     * @throws LeoException If the start date is after the end date.
+     */
+    public Event(String name, LocalDateTime startDate, LocalDateTime endDate) throws LeoException {
+        super(name);
+        if (startDate.isAfter(endDate)) {
+            throw new LeoException("UH-OH!!! The start date cannot be after the end date.");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate; // the string forms are only worked out if the task is saved as text
+    }
+
     /**
      * Checks if the start date is after the end date.
      *
@@ -50,21 +66,54 @@ public class Event extends Task {
     public void setStartDate(String startDate) throws LeoException {
         this.startDate = DateTimeParser.parseDateTime(startDate, "startDate");
         this.stringStartDate = startDate;
+        invalidateDisplayString();
+    }
+
+    /**
+     * Sets an already parsed start date.
+     */
+    public void setStartDate(LocalDateTime startDate) {
+        this.startDate = startDate;
+        this.stringStartDate = null; // worked out again if the task is saved as text
+        invalidateDisplayString();
     }
 
     public void setEndDate(String endDate) throws LeoException {
         this.endDate = DateTimeParser.parseDateTime(endDate, "endDate");
         this.stringEndDate = endDate;
+        invalidateDisplayString();
+    }
+
+    /**
+     * Sets an already parsed end date.
+     */
+    public void setEndDate(LocalDateTime endDate) {
+        this.endDate = endDate;
+        this.stringEndDate = null; // worked out again if the task is saved as text
+        invalidateDisplayString();
+    }
+
+    public LocalDateTime getStartDate() {
+        return this.startDate;
+    }
+
+    public LocalDateTime getEndDate() {
+        return this.endDate;
     }
 
     public String formatData() {
+        if (stringStartDate == null) {
+            stringStartDate = DateTimeParser.formatDateTime(startDate);
+        }
+        if (stringEndDate == null) {
+            stringEndDate = DateTimeParser.formatDateTime(endDate);
+        }
         return "E | " + super.formatData() + " | " + stringStartDate + " | " + stringEndDate;
     }
 
     @Override
-    public String toString() {
-        return "[E] " + super.toString() + " (from: "
-                + startDate.format(DateTimeFormatter.ofPattern("MMM d yyyy HH:mm")) + " to: "
-                + endDate.format(DateTimeFormatter.ofPattern("MMM d yyyy HH:mm")) + ")";
+    protected String render() {
+        return "[E] " + super.render() + " (from: " + DateTimeParser.formatForDisplay(startDate)
+                + " to: " + DateTimeParser.formatForDisplay(endDate) + ")";
     }
 }
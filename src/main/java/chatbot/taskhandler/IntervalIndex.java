@@ -0,0 +1,195 @@
+package chatbot.taskhandler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Interval tree over the time spans of tasks, used to answer "what is on between these dates" queries.
+ * It is a treap ordered by start date, where every node also remembers the earliest start date and the latest
+ * end date in its subtree, so whole subtrees that start after or finish before the queried period can be skipped.
+ */
+public class IntervalIndex {
+    private final Comparator<Task> tieBreaker;
+    private final Random random = new Random();
+    private Node root;
+    private int size = 0;
+
+    /**
+     * Constructs an empty IntervalIndex.
+     *
+     * @param tieBreaker Orders tasks that start at the same time. It must not change while the tasks are indexed.
+     */
+    public IntervalIndex(Comparator<Task> tieBreaker) {
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Adds a task that takes place from start to end.
+     *
+     * @param task  The task to add.
+     * @param start When the task starts.
+     * @param end   When the task ends; the same as start for a single point in time.
+     */
+    public void add(Task task, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(task, start, end, random.nextInt()));
+        size++;
+    }
+
+    /**
+     * Removes a task. The start date must be the one the task was added with.
+     *
+     * @param task  The task to remove.
+     * @param start When the task starts.
+     */
+    public void remove(Task task, LocalDateTime start) {
+        int sizeBefore = size;
+        root = delete(root, task, start);
+        assert size == sizeBefore - 1 : "Task to remove should have been in the interval index";
+    }
+
+    /**
+     * Returns every task whose time span overlaps [from, to], ordered by start date.
+     * Only subtrees that can hold an overlapping task are visited, which is usually little more than the k tasks
+     * returned, but this is not a bound: subtrees mixing many spans that end before the period with a few
+     * that end after it are still entered, so a query can visit up to O(n) nodes in the worst case.
+     *
+     * @param from The start of the period, inclusive.
+     * @param to   The end of the period, inclusive.
+     * @return The overlapping tasks.
+     */
+    public List<Task> findOverlapping(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void collect(Node node, LocalDateTime from, LocalDateTime to, List<Task> result) {
+        if (node == null || node.maxEnd.isBefore(from) || node.minStart.isAfter(to)) {
+            return; // everything below ends before the period starts or starts after it ends
+        }
+        collect(node.left, from, to, result);
+        if (node.start.isAfter(to)) {
+            return; // this node and everything to its right start after the period ends
+        }
+        if (!node.end.isBefore(from)) {
+            result.add(node.task);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private int compare(Node node, Task task, LocalDateTime start) {
+        int byStart = start.compareTo(node.start);
+        return byStart != 0 ? byStart : tieBreaker.compare(task, node.task);
+    }
+
+    private Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        if (compare(node, newNode.task, newNode.start) < 0) {
+            node.left = insert(node.left, newNode);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, newNode);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, Task task, LocalDateTime start) {
+        if (node == null) {
+            return null;
+        }
+        if (node.task == task) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (compare(node, task, start) < 0) {
+            node.left = delete(node.left, task, start);
+        } else {
+            node.right = delete(node.right, task, start);
+        }
+        node.update();
+        return node;
+    }
+
+    /** Joins two treaps where every node of left comes before every node of right. */
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        node.update();
+        return newRoot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        node.update();
+        return newRoot;
+    }
+
+    /**
+     * A task's time span in the treap.
+     */
+    private static class Node {
+        private final Task task;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final int priority;
+        private LocalDateTime minStart;
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(Task task, LocalDateTime start, LocalDateTime end, int priority) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.minStart = start;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            minStart = left != null ? left.minStart : start; // the treap is ordered by start date
+            maxEnd = end;
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
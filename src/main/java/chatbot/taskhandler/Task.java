@@ -1,11 +1,19 @@
 package chatbot.taskhandler;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Represents a general task with a name and completion status.
+ * Every task gets an ID when it is created, which stays the same for as long as the application runs.
+ * The line shown to the user is built once and reused until the task changes.
  */
 public class Task {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long id = NEXT_ID.getAndIncrement();
     private String name;
     private boolean isDone;
+    private String displayString;
 
     /**
      * Constructs a Task with the given name. The task is initially not done.
@@ -17,16 +25,22 @@ public class Task {
         this.isDone = false; // Task is initially not done
     }
 
+    public long getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
 
     public void setName(String name) {
         this.name = name;
+        invalidateDisplayString();
     }
 
     public void setDone(boolean done) {
         isDone = done;
+        invalidateDisplayString();
     }
 
     public boolean getDone() {
@@ -38,7 +52,25 @@ public class Task {
     }
 
     @Override
-    public String toString() {
+    public final String toString() {
+        if (displayString == null) {
+            displayString = render();
+        }
+        return displayString;
+    }
+
+    /**
+     * Builds the line shown to the user for this task. Subclasses add their type and dates.
+     * Only called again after a setter has changed the task.
+     */
+    protected String render() {
         return (isDone ? "[X] " : "[ ] ") + name; // Returns the task status and name
     }
+
+    /**
+     * Discards the cached display line. Setters of subclasses must call this when they change what is shown.
+     */
+    protected void invalidateDisplayString() {
+        displayString = null;
+    }
 }
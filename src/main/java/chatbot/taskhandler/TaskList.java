@@ -0,0 +1,229 @@
+package chatbot.taskhandler;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The list of tasks held by the {@link TaskManager}, built so that no operation needs to scan the whole list.
+ * Each task sits in a slot that only changes during compaction. Deleting a task leaves an empty slot behind
+ * instead of shifting every later task, and a Fenwick tree over the filled slots turns a task number into
+ * a slot and back in O(log n). The empty slots are cleared out once they outnumber the tasks.
+ */
+public class TaskList extends AbstractList<Task> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private List<Task> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private int[] tree = new int[INITIAL_CAPACITY + 1]; // Fenwick tree over filled slots, 1-based
+    private int size = 0;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        return slots.get(slotAt(index));
+    }
+
+    @Override
+    public boolean add(Task task) {
+        assert task != null : "Task should never be null here";
+        if (slots.size() == tree.length - 1) {
+            rebuildTree((tree.length - 1) * 2);
+        }
+        slotById.put(task.getId(), slots.size());
+        slots.add(task);
+        updateTree(slots.size() - 1, 1);
+        size++;
+        return true;
+    }
+
+    /**
+     * Inserts a task at the given position. Adding at the end is as cheap as {@link #add(Task)},
+     * but inserting anywhere else rebuilds the list in O(n), so it is only meant for rare cases like undoing a delete.
+     * The tasks keep their order, so anything ordered by {@link #slotOf(Task)} stays correctly ordered.
+     */
+    @Override
+    public void add(int index, Task task) {
+        if (index == size) {
+            add(task);
+            return;
+        }
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        assert task != null : "Task should never be null here";
+        List<Task> tasks = new ArrayList<>(size + 1);
+        for (Task existing : this) {
+            if (tasks.size() == index) {
+                tasks.add(task);
+            }
+            tasks.add(existing);
+        }
+        slots = tasks;
+        size++;
+        for (int slot = 0; slot < slots.size(); slot++) {
+            slotById.put(slots.get(slot).getId(), slot);
+        }
+        rebuildTree(Math.max(Integer.highestOneBit(size) * 2, INITIAL_CAPACITY));
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        int slot = slotAt(index);
+        Task oldTask = slots.set(slot, task);
+        slotById.remove(oldTask.getId());
+        slotById.put(task.getId(), slot);
+        return oldTask;
+    }
+
+    @Override
+    public Task remove(int index) {
+        int slot = slotAt(index);
+        Task task = slots.set(slot, null);
+        slotById.remove(task.getId());
+        updateTree(slot, -1);
+        size--;
+        if (slots.size() - size > Math.max(size, INITIAL_CAPACITY)) {
+            compact();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the 0-based position of a task in O(log n), or -1 if it is not in the list.
+     */
+    @Override
+    public int indexOf(Object object) {
+        if (!(object instanceof Task)) {
+            return -1;
+        }
+        Integer slot = slotById.get(((Task) object).getId());
+        if (slot == null || slots.get(slot) != object) {
+            return -1;
+        }
+        return prefixCount(slot) - 1;
+    }
+
+    @Override
+    public int lastIndexOf(Object object) {
+        return indexOf(object); // a task is never in the list twice
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new Iterator<>() {
+            private int nextSlot = skipEmptySlots(0);
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot < slots.size();
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Task task = slots.get(nextSlot);
+                nextSlot = skipEmptySlots(nextSlot + 1);
+                return task;
+            }
+        };
+    }
+
+    /**
+     * Finds a task by its ID.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if no task in the list has that ID.
+     */
+    public Task findById(long id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : slots.get(slot);
+    }
+
+    /**
+     * Returns a number that orders the tasks the same way as the list does. Unlike the position,
+     * it does not change when earlier tasks are deleted, but it is only meaningful while the task is in the list.
+     *
+     * @param task A task in the list.
+     * @return The task's slot.
+     */
+    public int slotOf(Task task) {
+        Integer slot = slotById.get(task.getId());
+        assert slot != null : "Task should be in the list";
+        return slot;
+    }
+
+    private int skipEmptySlots(int slot) {
+        while (slot < slots.size() && slots.get(slot) == null) {
+            slot++;
+        }
+        return slot;
+    }
+
+    /** Finds the slot holding the task at the given 0-based position. */
+    private int slotAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        // walk down the Fenwick tree to the smallest slot with index + 1 filled slots up to and including it
+        int position = 0;
+        int remaining = index + 1;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] < remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position; // position is 1-based in the tree, so the slot is the one after it
+    }
+
+    /** Counts the filled slots from slot 0 up to and including the given slot. */
+    private int prefixCount(int slot) {
+        int count = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void updateTree(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void rebuildTree(int capacity) {
+        tree = new int[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            if (i <= slots.size() && slots.get(i - 1) != null) {
+                tree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /** Drops the empty slots, keeping the tasks in order. */
+    private void compact() {
+        List<Task> liveTasks = new ArrayList<>(size);
+        for (Task task : this) {
+            slotById.put(task.getId(), liveTasks.size());
+            liveTasks.add(task);
+        }
+        slots = liveTasks;
+        rebuildTree(Math.max(Integer.highestOneBit(Math.max(size, 1)) * 2, INITIAL_CAPACITY));
+    }
+}
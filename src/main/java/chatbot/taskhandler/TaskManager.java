@@ -1,25 +1,78 @@
 package chatbot.taskhandler;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.ListIterator;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import chatbot.exceptions.LeoException;
+import chatbot.inputreader.BinaryTaskCodec;
 import chatbot.inputreader.CommandHandler;
 import chatbot.inputreader.FileWriting;
+import chatbot.inputreader.ParallelTaskLoader;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.inputreader.TaskFileSnapshot;
+import chatbot.inputreader.TaskJournal;
+import chatbot.inputreader.WriteBehindFlusher;
+import chatbot.metrics.CommandMetrics;
+import chatbot.metrics.TaskFileLoadEvent;
+import chatbot.parser.DateTimeParser;
+import chatbot.parser.ParsedCommand;
 import chatbot.parser.TaskParser;
+import chatbot.ui.ConsoleSink;
+import chatbot.ui.OutputSink;
+import chatbot.ui.SilentSink;
 
 /**
  * Manages a list of tasks, including loading from and saving to a file.
  * Provides methods to create, add, mark, unmark, delete, and print tasks.
+ * It is safe to use from several threads: commands that only read, like list, find and due, run at the same time,
+ * while commands that change tasks run one at a time and are never seen half done.
  */
 public class TaskManager {
+    /** Number of journal records after which the journal is compacted back into the task file. */
+    public static final int COMPACTION_THRESHOLD = 500;
+    /** Number of tasks shown on each page of the list command until the user picks another page size. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final String PAGE_SIZE_FLAG = "--page-size";
+
     private String filePath;
-    private List<Task> todoList = new ArrayList<>();
+    private final TaskList todoList = new TaskList();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    // undone deadlines in due order; ties keep list order, which slots preserve even through compaction
+    private final NavigableSet<Deadline> dueIndex = new TreeSet<>(
+            Comparator.comparing(Deadline::getDueDate).thenComparingInt(task -> todoList.slotOf(task)));
+    // time spans of events, and deadlines as single points in time
+    private final IntervalIndex intervalIndex = new IntervalIndex(Comparator.comparingInt(todoList::slotOf));
+    private final PersistenceMode persistenceMode;
+    private final StorageFormat storageFormat;
+    private final TaskJournal journal;
+    private final WriteBehindFlusher flusher;
+    private final OutputSink output;
+    private final CommandMetrics metrics = new CommandMetrics();
+    // every thread listing tasks gets its own buffer, as several can list at once
+    private final ThreadLocal<StringBuilder> listBuffers = ThreadLocal.withInitial(StringBuilder::new);
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    // commands that only read the tasks share the read lock, commands that change them take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int deferDepth = 0;
+    private boolean hasDeferredChanges = false;
+    private Deque<Runnable> undoLog = null; // undo actions of the open transaction, newest first
+    private boolean hadDeferredChanges = false;
+    private volatile boolean isFlushHeldBack = false; // set by the flusher when it found a transaction open
 
     /**
      * Constructs a TaskManager with the specified file path for task storage.
@@ -28,13 +81,103 @@ public class TaskManager {
      * @param filePath The path to the file where tasks are stored.
      */
     public TaskManager(String filePath) {
+        this(filePath, PersistenceMode.SNAPSHOT);
+    }
+
+    /**
+     * Constructs a TaskManager with the specified file path and persistence mode.
+     * Loads existing tasks from the file, then replays any journal records left next to it.
+     *
+     * @param filePath        The path to the file where tasks are stored.
+     * @param persistenceMode How changes to the tasks are written to disk.
+     */
+    public TaskManager(String filePath, PersistenceMode persistenceMode) {
+        this(filePath, persistenceMode, StorageFormat.TEXT);
+    }
+
+    /**
+     * Constructs a TaskManager with the specified file path, persistence mode and storage format.
+     * The task file is read in whichever format it is in, and saved in the given format from then on.
+     *
+     * @param filePath        The path to the file where tasks are stored.
+     * @param persistenceMode How changes to the tasks are written to disk.
+     * @param storageFormat   The format the task file is saved in.
+     */
+    public TaskManager(String filePath, PersistenceMode persistenceMode, StorageFormat storageFormat) {
+        this(filePath, persistenceMode, storageFormat, WriteBehindFlusher.DEFAULT_FLUSH_DELAY_MILLIS);
+    }
+
+    /**
+     * Constructs a TaskManager with the specified file path, persistence mode, storage format
+     * and write-behind flush delay.
+     *
+     * @param filePath         The path to the file where tasks are stored.
+     * @param persistenceMode  How changes to the tasks are written to disk.
+     * @param storageFormat    The format the task file is saved in.
+     * @param flushDelayMillis The longest time a change may wait before it is written in write-behind mode.
+     */
+    public TaskManager(String filePath, PersistenceMode persistenceMode, StorageFormat storageFormat,
+            long flushDelayMillis) {
+        this(filePath, persistenceMode, storageFormat, flushDelayMillis, new ConsoleSink());
+    }
+
+    /**
+     * Constructs a TaskManager that prints its messages to the given output sink.
+     * The messages are returned by each command as well, so a GUI can pass a {@link SilentSink}.
+     *
+     * @param filePath         The path to the file where tasks are stored.
+     * @param persistenceMode  How changes to the tasks are written to disk.
+     * @param storageFormat    The format the task file is saved in.
+     * @param flushDelayMillis The longest time a change may wait before it is written in write-behind mode.
+     * @param output           Where messages are printed.
+     */
+    public TaskManager(String filePath, PersistenceMode persistenceMode, StorageFormat storageFormat,
+            long flushDelayMillis, OutputSink output) {
+        assert output != null : "Output sink must not be null";
+        this.output = output;
         assert filePath != null && !filePath.isBlank() : "File path must not be null or blank";
+        assert persistenceMode != null : "Persistence mode must not be null";
+        assert storageFormat != null : "Storage format must not be null";
         this.filePath = filePath;
+        this.persistenceMode = persistenceMode;
+        this.storageFormat = storageFormat;
+        this.journal = new TaskJournal(filePath);
+        this.flusher = persistenceMode == PersistenceMode.WRITE_BEHIND
+                ? new WriteBehindFlusher(filePath, flushDelayMillis, metrics, this::snapshotForFlush)
+                : null;
         this.loadDataFromFile(filePath);
     }
 
+    public OutputSink getOutputSink() {
+        return output;
+    }
+
+    /**
+     * Returns the command timings and save statistics shared by everything using this task manager.
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
     public List<Task> getTodoList() {
-        return todoList;
+        lock.readLock().lock();
+        try {
+            return List.copyOf(todoList); // a snapshot, as the list may change while the caller uses it
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the task with the given ID, or null if there is none. Takes constant time.
+     */
+    public Task getTaskById(long id) {
+        lock.readLock().lock();
+        try {
+            return todoList.findById(id);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -49,20 +192,269 @@ public class TaskManager {
         return TaskParser.parseTask(input);
     }
 
+    /**
+     * Delegates the creation of a Task from an already parsed command to the {@link TaskParser}.
+     *
+     * @param command The parsed user input containing task details.
+     * @return A {@link Task} object (ToDo, Deadline, or Event) parsed from the input.
+     * @throws LeoException If the input format is invalid or required details are missing.
+     */
+    public Task createTask(ParsedCommand command) throws LeoException {
+        return TaskParser.parseTask(command);
+    }
+
     /**
      * Loads tasks from a file and populates the todoList.
+     * Binary files are decoded directly, and large text files are parsed in parallel.
+     * The load is reported as a {@link TaskFileLoadEvent} when a Flight Recorder recording asks for it.
      *
      * @param filePath The path to the file containing the tasks.
      */
     public void loadDataFromFile(String filePath) {
+        lock.writeLock().lock();
         try {
-            List<String> lines = FileWriting.readFromFile(filePath);
-            CommandHandler commandHandler = new CommandHandler(this);
-            commandHandler.handleCommandFromFile(lines);
-        } catch (IOException e) {
-            System.out.println("Something went wrong while loading data: " + e.getMessage());
-        } catch (LeoException e) {
-            System.out.println(e.getMessage());
+            TaskFileLoadEvent event = new TaskFileLoadEvent();
+            event.begin();
+            try {
+                long startTime = System.nanoTime();
+                int taskCountBefore = todoList.size();
+                if (BinaryTaskCodec.isBinaryFile(filePath)) {
+                    List<Task> loadedTasks = BinaryTaskCodec.readFromFile(filePath);
+                    appendTasks(loadedTasks);
+                    output.print(formatLoadSummary(loadedTasks.size(), startTime));
+                    event.finish(filePath, "binary", loadedTasks.size(), loadedTasks.size(),
+                            System.nanoTime() - startTime);
+                } else if (new File(filePath).length() >= ParallelTaskLoader.PARALLEL_THRESHOLD_BYTES) {
+                    List<Task> loadedTasks = ParallelTaskLoader.readFromFile(filePath);
+                    appendTasks(loadedTasks);
+                    output.print(formatLoadSummary(loadedTasks.size(), startTime));
+                    event.finish(filePath, "text, parsed in parallel", loadedTasks.size(), loadedTasks.size(),
+                            System.nanoTime() - startTime);
+                } else {
+                    List<String> lines = FileWriting.readFromFile(filePath);
+                    long parseStartTime = System.nanoTime();
+                    output.print(bulkLoad(lines));
+                    event.finish(filePath, "text", lines.size(), todoList.size() - taskCountBefore,
+                            System.nanoTime() - parseStartTime);
+                }
+                replayJournal();
+                output.print(trigramIndex.describeMemoryUsage());
+            } catch (IOException e) {
+                output.print("Something went wrong while loading data: " + e.getMessage());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Parses lines in the task file format and appends all of them to the todoList in one go.
+     * Unlike {@link #addTask(Task)}, nothing is persisted or printed per task, so loading is linear in the
+     * number of lines. Lines with invalid task data are reported and skipped rather than ending the load.
+     *
+     * @param lines The lines to load, e.g. "T | 0 | read book".
+     * @return A summary of how many tasks were loaded and how long it took.
+     */
+    public String bulkLoad(List<String> lines) {
+        lock.writeLock().lock();
+        try {
+            assert lines != null : "Lines from file must not be null";
+            long startTime = System.nanoTime();
+            List<Task> loadedTasks = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Task task = CommandHandler.parseStoredTask(line);
+                    if (task != null) {
+                        loadedTasks.add(task);
+                    }
+                } catch (LeoException | RuntimeException e) {
+                    output.print("Skipping bad line in task file: " + line);
+                }
+            }
+            appendTasks(loadedTasks);
+            return formatLoadSummary(loadedTasks.size(), startTime);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String formatLoadSummary(int taskCount, long startTime) {
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        return "Loaded " + taskCount + " tasks in " + elapsedMillis + " ms.";
+    }
+
+    /**
+     * Re-applies the journal records left from the previous session on top of the loaded tasks.
+     * The result is compacted into the task file so that the next session starts with an empty journal.
+     * A journal built on a different task file than the one on disk is dropped instead: the task file was
+     * rewritten with the journal's changes, but the process stopped before the journal could be emptied.
+     *
+     * @throws IOException If the journal or the task file cannot be accessed.
+     */
+    private void replayJournal() throws IOException {
+        List<String> records = journal.readRecords();
+        if (records.isEmpty()) {
+            return;
+        }
+        String baseChecksum = TaskJournal.checksumOfBase(records.get(0));
+        if (baseChecksum != null) {
+            if (!baseChecksum.equals(FileWriting.checksumOfFile(filePath))) {
+                output.print("The journal was already saved into the task file, so it was not replayed.");
+                journal.clear();
+                return;
+            }
+            records = records.subList(1, records.size());
+        }
+        for (String record : records) {
+            try {
+                applyJournalRecord(record);
+            } catch (LeoException | RuntimeException e) {
+                // A record cut short by a crash should not stop the rest of the journal from loading
+                output.print("Skipping bad journal record: " + record);
+            }
+        }
+        compactJournal();
+    }
+
+    /**
+     * Applies a single journal record to the todoList without persisting it again.
+     *
+     * @param record The journal record, e.g. "MARK | 3".
+     * @throws LeoException If the task data in the record is invalid.
+     */
+    private void applyJournalRecord(String record) throws LeoException {
+        String[] parts = record.split(" \\| ", 2);
+        String operation = parts[0];
+        switch (operation) {
+        case TaskJournal.ADD:
+            Task task = CommandHandler.parseStoredTask(parts[1]);
+            if (task != null) {
+                appendTask(task);
+            }
+            break;
+        case TaskJournal.MARK:
+            setTaskDone(todoList.get(Integer.parseInt(parts[1])), true);
+            break;
+        case TaskJournal.UNMARK:
+            setTaskDone(todoList.get(Integer.parseInt(parts[1])), false);
+            break;
+        case TaskJournal.DELETE:
+            removeTaskAt(Integer.parseInt(parts[1]));
+            break;
+        case TaskJournal.EDIT:
+            String[] edit = parts[1].split(" \\| ", 2);
+            Task editedTask = CommandHandler.parseStoredTask(edit[1]);
+            if (editedTask != null) {
+                replaceTaskAt(Integer.parseInt(edit[0]), editedTask);
+            }
+            break;
+        default:
+            output.print("Unknown journal record: " + record);
+        }
+    }
+
+    /**
+     * Adds a task to the end of the todoList and to the indexes.
+     *
+     * @param task The task to add.
+     */
+    private void appendTask(Task task) {
+        todoList.add(task);
+        indexTask(task);
+    }
+
+    private void appendTasks(List<Task> tasks) {
+        tasks.forEach(this::appendTask);
+    }
+
+    /**
+     * Removes the task at the given position from the todoList and the indexes.
+     * The positions of the tasks after it shift down by one, without any of them being moved.
+     *
+     * @param index The 0-based position of the task.
+     * @return The removed task.
+     */
+    private Task removeTaskAt(int index) {
+        unindexTask(todoList.get(index)); // before its slot is freed, as the due index orders by it
+        return todoList.remove(index);
+    }
+
+    /**
+     * Replaces the task at the given position, keeping the indexes up to date.
+     *
+     * @param index The 0-based position of the task.
+     * @param task  The new task.
+     */
+    private void replaceTaskAt(int index, Task task) {
+        unindexTask(todoList.get(index));
+        todoList.set(index, task);
+        indexTask(task);
+    }
+
+    /**
+     * Inserts a task at the given position, keeping the indexes up to date.
+     * Takes O(n) unless the position is the end of the list.
+     *
+     * @param index The 0-based position for the task.
+     * @param task  The task to insert.
+     */
+    private void insertTaskAt(int index, Task task) {
+        todoList.add(index, task);
+        indexTask(task);
+    }
+
+    /**
+     * Marks a task as done or not done, moving it in or out of the due index.
+     *
+     * @param task   The task to update.
+     * @param isDone Whether the task is done.
+     */
+    private void setTaskDone(Task task, boolean isDone) {
+        if (task instanceof Deadline) {
+            dueIndex.remove(task);
+        }
+        task.setDone(isDone);
+        addToDueIndex(task);
+    }
+
+    /**
+     * Adds a task to every index. The task must already have its position.
+     *
+     * @param task The task to add.
+     */
+    private void indexTask(Task task) {
+        trigramIndex.add(task);
+        addToDueIndex(task);
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            intervalIndex.add(deadline, deadline.getDueDate(), deadline.getDueDate());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            intervalIndex.add(event, event.getStartDate(), event.getEndDate());
+        }
+    }
+
+    /**
+     * Removes a task from every index. Must be called before its name, due date or position changes.
+     *
+     * @param task The task to remove.
+     */
+    private void unindexTask(Task task) {
+        trigramIndex.remove(task);
+        if (task instanceof Deadline) {
+            dueIndex.remove(task);
+            intervalIndex.remove(task, ((Deadline) task).getDueDate());
+        } else if (task instanceof Event) {
+            intervalIndex.remove(task, ((Event) task).getStartDate());
+        }
+    }
+
+    private void addToDueIndex(Task task) {
+        if (task instanceof Deadline && !task.getDone()) {
+            dueIndex.add((Deadline) task);
         }
     }
 
@@ -72,30 +464,372 @@ public class TaskManager {
      * @param tasks The list of tasks to be saved.
      */
     public void saveTasksToFile(List<Task> tasks) {
+        lock.writeLock().lock();
         try {
-            FileWriting.writeToFile(filePath, tasks);
+            try {
+                long startTime = System.nanoTime();
+                long bytes = FileWriting.writeToFile(filePath, tasks, storageFormat);
+                metrics.recordSave(System.nanoTime() - startTime, bytes);
+            } catch (IOException e) {
+                output.print("Something went wrong: " + e.getMessage());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Persists a single change according to the persistence mode.
+     * In journal mode only the given record is appended, and the journal is compacted once it grows too long.
+     * In write-behind mode the change is handed to the background flusher and this method returns immediately.
+     *
+     * @param journalRecord The journal record describing the change.
+     */
+    private void persist(String journalRecord) {
+        if (deferDepth > 0) {
+            hasDeferredChanges = true; // the whole list is saved once the batch ends
+            return;
+        }
+        if (persistenceMode == PersistenceMode.SNAPSHOT) {
+            saveTasksToFile(todoList);
+            return;
+        }
+        if (persistenceMode == PersistenceMode.WRITE_BEHIND) {
+            markFlusherDirty(); // the tasks are copied once per write, not once per change
+            return;
+        }
+        try {
+            long startTime = System.nanoTime();
+            int bytes = 0;
+            if (journal.size() == 0) {
+                // Records refer to tasks by position, so they may only ever be replayed onto this task file
+                bytes += journal.append(TaskJournal.baseRecord(FileWriting.checksumOfFile(filePath)));
+            }
+            bytes += journal.append(journalRecord);
+            metrics.recordSave(System.nanoTime() - startTime, bytes);
+            if (journal.size() - 1 >= COMPACTION_THRESHOLD) { // the base record is not a change
+                compactJournal();
+            }
+        } catch (IOException e) {
+            output.print("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hands the changed tasks to the write-behind flusher, or writes them straight away if it has been closed,
+     * e.g. for a command that was still running when the application shut down.
+     */
+    private void markFlusherDirty() {
+        if (!flusher.markDirty()) {
+            saveTasksToFile(todoList);
+        }
+    }
+
+    /**
+     * Writes the current tasks to the task file and empties the journal.
+     *
+     * @throws IOException If the task file or the journal cannot be written.
+     */
+    public void compactJournal() throws IOException {
+        lock.writeLock().lock();
+        try {
+            long startTime = System.nanoTime();
+            long bytes = FileWriting.writeToFile(filePath, todoList, storageFormat);
+            journal.clear();
+            metrics.recordSave(System.nanoTime() - startTime, bytes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Persists the whole todoList at once according to the persistence mode.
+     * Used after changes that touch many tasks, where one full write is cheaper than a record per task.
+     */
+    private void persistAll() {
+        if (deferDepth > 0) {
+            hasDeferredChanges = true;
+            return;
+        }
+        if (persistenceMode == PersistenceMode.WRITE_BEHIND) {
+            markFlusherDirty();
+            return;
+        }
+        try {
+            compactJournal(); // in snapshot mode the journal is always empty, so this is a plain save
         } catch (IOException e) {
-            System.out.println("Something went wrong: " + e.getMessage());
+            output.print("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a transaction. Later commands change the tasks as usual, but nothing is saved until
+     * {@link #commitTransaction()}, and {@link #rollbackTransaction()} undoes all of them.
+     *
+     * @throws LeoException If a transaction is already open.
+     */
+    public String beginTransaction() throws LeoException {
+        lock.writeLock().lock();
+        try {
+            if (undoLog != null) {
+                throw new LeoException("UH-OH!!! A transaction is already open. Use commit or rollback first.");
+            }
+            undoLog = new ArrayDeque<>();
+            hadDeferredChanges = hasDeferredChanges;
+            beginBatch();
+            String beginMsg = "Transaction started. Use commit to save your changes or rollback to undo them.";
+            output.print(beginMsg);
+            return beginMsg;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends the open transaction and saves all its changes in one write.
+     *
+     * @throws LeoException If no transaction is open.
+     */
+    public String commitTransaction() throws LeoException {
+        lock.writeLock().lock();
+        try {
+            if (undoLog == null) {
+                throw new LeoException("UH-OH!!! There is no transaction to commit. Use begin first.");
+            }
+            int changeCount = undoLog.size();
+            undoLog = null;
+            endBatch();
+            resumeHeldBackFlush(false);
+            String commitMsg = "Committed " + changeCount + (changeCount == 1 ? " change." : " changes.");
+            output.print(commitMsg);
+            return commitMsg;
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
+    /**
+     * Ends the open transaction and undoes all its changes, newest first. Nothing needs to be written
+     * in the journal, as the changes were never saved; with write-behind the task file is rewritten,
+     * in case it was written while the transaction was open.
+     *
+     * @throws LeoException If no transaction is open.
+     */
+    public String rollbackTransaction() throws LeoException {
+        lock.writeLock().lock();
+        try {
+            if (undoLog == null) {
+                throw new LeoException("UH-OH!!! There is no transaction to roll back. Use begin first.");
+            }
+            int changeCount = undoTransaction();
+            String rollbackMsg = "Rolled back " + changeCount + (changeCount == 1 ? " change." : " changes.")
+                    + "\nNow you have " + todoList.size() + " tasks in the list.";
+            output.print(rollbackMsg);
+            return rollbackMsg;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Undoes the changes of the open transaction, newest first, and ends it.
+     *
+     * @return How many changes were undone.
+     */
+    private int undoTransaction() {
+        int changeCount = undoLog.size();
+        while (!undoLog.isEmpty()) {
+            undoLog.pop().run();
+        }
+        undoLog = null;
+        hasDeferredChanges = hadDeferredChanges; // only changes made before the transaction still need saving
+        endBatch();
+        resumeHeldBackFlush(true);
+        return changeCount;
+    }
+
+    /**
+     * Lets the write-behind flusher write again after a transaction. After a rollback the tasks are always
+     * written, so that the file matches the committed tasks even if it was written during the transaction.
+     */
+    private void resumeHeldBackFlush(boolean isRollback) {
+        if (flusher != null && (isFlushHeldBack || isRollback)) {
+            isFlushHeldBack = false;
+            markFlusherDirty();
+        }
+    }
+
+    private void recordUndo(Runnable undo) {
+        if (undoLog != null) {
+            undoLog.push(undo);
+        }
+    }
+
+    private void recordDoneUndo(Task task) {
+        boolean wasDone = task.getDone();
+        recordUndo(() -> setTaskDone(task, wasDone));
+    }
+
+    /**
+     * Remembers the fields of a task that edit can change.
+     *
+     * @param task The task about to be edited.
+     * @return An action that puts those fields back as they are now. It does not update the indexes.
+     */
+    private static Runnable fieldRestorerOf(Task task) {
+        String name = task.getName();
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            LocalDateTime dueDate = deadline.getDueDate();
+            return () -> {
+                deadline.setName(name);
+                deadline.setBy(dueDate);
+            };
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            LocalDateTime startDate = event.getStartDate();
+            LocalDateTime endDate = event.getEndDate();
+            return () -> {
+                event.setName(name);
+                event.setStartDate(startDate);
+                event.setEndDate(endDate);
+            };
+        }
+        return () -> task.setName(name);
+    }
+
+    /**
+     * Holds back saving until the matching {@link #endBatch()}, so that a batch of commands is saved in one write
+     * rather than once per command. Batches may be nested; saving resumes when the outermost one ends.
+     */
+    public void beginBatch() {
+        lock.writeLock().lock();
+        try {
+            deferDepth++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends a batch started by {@link #beginBatch()}, saving all its changes at once if it was the outermost one.
+     */
+    public void endBatch() {
+        lock.writeLock().lock();
+        try {
+            assert deferDepth > 0 : "endBatch must follow beginBatch";
+            deferDepth--;
+            if (deferDepth == 0) {
+                saveDeferredChanges();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the changes held back by the current batch now, without ending the batch.
+     * Lets long batches checkpoint their progress every so often. Does nothing while a transaction is open,
+     * as its changes may still be rolled back; they are saved by the commit instead.
+     */
+    public void saveDeferredChanges() {
+        lock.writeLock().lock();
+        try {
+            if (!hasDeferredChanges || undoLog != null) {
+                return;
+            }
+            int depth = deferDepth;
+            deferDepth = 0;
+            hasDeferredChanges = false;
+            persistAll();
+            deferDepth = depth;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes sure every change so far is on disk. Only write-behind mode can have changes still waiting.
+     */
+    public void flush() {
+        if (flusher != null) {
+            flusher.flush();
+        }
+    }
+
+    /**
+     * Rolls back a transaction that is still open, flushes pending changes and releases the background flusher,
+     * if any, then waits for pending output. Should be called once when the application exits.
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (undoLog != null) {
+                undoTransaction(); // uncommitted changes are discarded, so they must not be flushed
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (flusher != null) {
+            flusher.close(); // not under the lock, as the flusher takes the read lock to copy the tasks
+        }
+        lock.writeLock().lock();
+        try {
+            output.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Encodes the tasks for the write-behind flusher while holding the read lock, so the copy is consistent.
+     * Nothing is written while a transaction is open, as its changes may still be rolled back;
+     * the write is made once the transaction ends instead.
+     */
+    private TaskFileSnapshot snapshotForFlush() throws IOException {
+        lock.readLock().lock();
+        try {
+            if (undoLog != null) {
+                isFlushHeldBack = true;
+                return null;
+            }
+            return TaskFileSnapshot.of(todoList, storageFormat);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns how many times the background flusher has written the task file, or 0 if write-behind is off.
+     */
+    public int getFlushCount() {
+        return flusher == null ? 0 : flusher.getWriteCount();
+    }
+
     /**
      * Adds a new task to the todo list.
      *
      * @param task The task to be added.
      */
     public String addTask(Task task) {
-        assert task != null : "Task should never be null here";
-        todoList.add(task); // Adds a new task to the list
-        saveTasksToFile(todoList);
-        assert todoList.contains(task) : "Task should have been added to todoList";
-        String confirm = "Got it! I've added this task: " + task;
-        String display = "Now you have " + todoList.size() + " tasks in the list.";
+        lock.writeLock().lock();
+        try {
+            assert task != null : "Task should never be null here";
+            appendTask(task); // Adds a new task to the list
+            recordUndo(() -> removeTaskAt(todoList.indexOf(task)));
+            persist(TaskJournal.addRecord(task));
+            assert todoList.indexOf(task) == todoList.size() - 1 : "Task should have been added to todoList";
+            String confirm = "Got it! I've added this task: " + task;
+            String display = "Now you have " + todoList.size() + " tasks in the list.";
 
-        System.out.println(confirm);
-        System.out.println(display);
+            output.print(confirm);
+            output.print(display);
 
-        return confirm + "\n" + display;
+            return confirm + "\n" + display;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -105,54 +839,70 @@ public class TaskManager {
      * @throws LeoException If the task number is invalid.
      */
     public String unmarkTask(String... words) throws LeoException {
-        if (words.length <= 1) {
-            throw new LeoException("UH-OH!!! Invalid format. Use unmark <task number>");
-        }
-        int index;
+        lock.writeLock().lock();
         try {
-            index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
-        } catch (NumberFormatException e) {
-            throw new LeoException("UH-OH!!! Task number must be an integer. Use unmark <integer>");
-        }
-        if (index < 0 || index >= todoList.size()) {
-            throw new LeoException("UH-OH!!! Invalid task number.");
-        }
+            if (words.length <= 1) {
+                throw new LeoException("UH-OH!!! Invalid format. Use unmark <task number>");
+            }
+            int index;
+            try {
+                index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
+            } catch (NumberFormatException e) {
+                throw new LeoException("UH-OH!!! Task number must be an integer. Use unmark <integer>");
+            }
+            if (index < 0 || index >= todoList.size()) {
+                throw new LeoException("UH-OH!!! Invalid task number.");
+            }
 
-        Task task = todoList.get(index);
-        task.setDone(false);
-        saveTasksToFile(todoList);
-        String confirm = "Marked as not done: " + task;
-        System.out.println(confirm);
-        return confirm;
+            Task task = todoList.get(index);
+            recordDoneUndo(task);
+            setTaskDone(task, false);
+            persist(TaskJournal.unmarkRecord(index));
+            String confirm = "Marked as not done: " + task;
+            output.print(confirm);
+            return confirm;
 
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
-     * Sorts deadline tasks due dates in chronological order.
+     * Lists undone deadline tasks in chronological order of their due dates.
+     * The tasks are kept sorted as they change, so this only walks the first tasks of the due index.
+     *
+     * @param words The input command split into words, where the optional second word is how many tasks to show.
+     * @throws LeoException If the number of tasks is not a positive integer.
      */
-    public String sortDeadlineTask() {
-        List<Deadline> deadlineTasks = this.todoList
-                .stream()
-                .filter(task -> task instanceof Deadline) // filter all deadline tasks
-                .map(task -> (Deadline) task)
-                .filter(task -> !task.getDone()) // filter tasks not done yet
-                .sorted(Comparator.comparing(Deadline::getDueDate))
-                .toList();
+    public String sortDeadlineTask(String... words) throws LeoException {
+        lock.readLock().lock();
+        try {
+            int limit = Integer.MAX_VALUE;
+            if (words.length > 1) {
+                limit = parsePositive(words[1], "Number of tasks", "due <integer>");
+            }
+            List<Deadline> deadlineTasks = dueIndex
+                    .stream()
+                    .limit(limit)
+                    .toList();
 
-        if (deadlineTasks.isEmpty()) {
-            String emptyMsg = "YAY no dues yet!";
-            System.out.println(emptyMsg);
-            return emptyMsg;
-        }
+            if (deadlineTasks.isEmpty()) {
+                String emptyMsg = "YAY no dues yet!";
+                output.print(emptyMsg);
+                return emptyMsg;
+            }
 
-        List<String> taskToString = deadlineTasks
-                .stream()
-                .map(task -> (todoList.indexOf(task) + 1) + ". " + task)
-                .toList();
+            List<String> taskToString = deadlineTasks
+                    .stream()
+                    .map(task -> (todoList.indexOf(task) + 1) + ". " + task)
+                    .toList();
 
-        String resultMsg = "Here are the deadline tasks due soon:\n" + String.join("\n", taskToString);
-        taskToString.forEach(System.out::println);
-        return resultMsg;
+            String resultMsg = "Here are the deadline tasks due soon:\n" + String.join("\n", taskToString);
+            taskToString.forEach(output::print);
+            return resultMsg;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -162,25 +912,31 @@ public class TaskManager {
      * @throws LeoException If the task number is invalid.
      */
     public String markTask(String... words) throws LeoException {
-        if (words.length <= 1) {
-            throw new LeoException("UH-OH!!! Invalid format. Use mark <task number>");
-        }
-        int index;
+        lock.writeLock().lock();
         try {
-            index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
-        } catch (NumberFormatException e) {
-            throw new LeoException("UH-OH!!! Task number must be an integer. Use mark <integer>");
-        }
-        if (index < 0 || index >= todoList.size()) {
-            throw new LeoException("UH-OH!!! Invalid task number.");
-        }
+            if (words.length <= 1) {
+                throw new LeoException("UH-OH!!! Invalid format. Use mark <task number>");
+            }
+            int index;
+            try {
+                index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
+            } catch (NumberFormatException e) {
+                throw new LeoException("UH-OH!!! Task number must be an integer. Use mark <integer>");
+            }
+            if (index < 0 || index >= todoList.size()) {
+                throw new LeoException("UH-OH!!! Invalid task number.");
+            }
 
-        Task task = todoList.get(index);
-        task.setDone(true);
-        saveTasksToFile(todoList);
-        String confirm = "Marked as done: " + task;
-        System.out.println(confirm);
-        return confirm;
+            Task task = todoList.get(index);
+            recordDoneUndo(task);
+            setTaskDone(task, true);
+            persist(TaskJournal.markRecord(index));
+            String confirm = "Marked as done: " + task;
+            output.print(confirm);
+            return confirm;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -190,26 +946,32 @@ public class TaskManager {
      * @throws LeoException If the task number is invalid.
      */
     public String deleteTask(String... words) throws LeoException {
-        if (words.length <= 1) {
-            throw new LeoException("UH-OH!!! Invalid format. Use delete <task number>");
-        }
-        int index;
+        lock.writeLock().lock();
         try {
-            index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
-        } catch (NumberFormatException e) {
-            throw new LeoException("UH-OH!!! Task number must be an integer. Use delete <integer>");
-        }
-        if (index < 0 || index >= todoList.size()) {
-            throw new LeoException("UH-OH!!! Invalid task number.");
-        }
-        Task taskRemoved = todoList.remove(index);
-        saveTasksToFile(todoList);
-        String confirmMsg = "Removed Task: " + taskRemoved;
-        String resultMsg = "Now you have " + todoList.size() + " tasks in the list.";
+            if (words.length <= 1) {
+                throw new LeoException("UH-OH!!! Invalid format. Use delete <task number>");
+            }
+            int index;
+            try {
+                index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
+            } catch (NumberFormatException e) {
+                throw new LeoException("UH-OH!!! Task number must be an integer. Use delete <integer>");
+            }
+            if (index < 0 || index >= todoList.size()) {
+                throw new LeoException("UH-OH!!! Invalid task number.");
+            }
+            Task taskRemoved = removeTaskAt(index);
+            recordUndo(() -> insertTaskAt(index, taskRemoved));
+            persist(TaskJournal.deleteRecord(index));
+            String confirmMsg = "Removed Task: " + taskRemoved;
+            String resultMsg = "Now you have " + todoList.size() + " tasks in the list.";
 
-        System.out.println(confirmMsg);
-        System.out.println(resultMsg);
-        return confirmMsg + "\n" + resultMsg;
+            output.print(confirmMsg);
+            output.print(resultMsg);
+            return confirmMsg + "\n" + resultMsg;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -219,42 +981,70 @@ public class TaskManager {
      * @throws LeoException If the task number is invalid.
      */
     public String updateTask(String input) throws LeoException {
-        String[] words = input.split(" ");
-        if (words.length <= 1) {
-            throw new LeoException("UH-OH!!! Invalid format. Use edit <task number>");
-        }
-        int index;
+        return updateTask(ParsedCommand.parse(input));
+    }
+
+    /**
+     * Updates a task from the todo list based on an already parsed edit command,
+     * e.g. "edit 2 /name return book /by 2025-09-16".
+     *
+     * @param command The parsed input command.
+     * @throws LeoException If the task number is invalid or no fields are given.
+     */
+    public String updateTask(ParsedCommand command) throws LeoException {
+        lock.writeLock().lock();
         try {
-            index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
-        } catch (NumberFormatException e) {
-            throw new LeoException("UH-OH!!! Task number must be an integer. Use edit <integer>");
-        }
+            String[] words = command.getWords();
+            if (words.length <= 1) {
+                throw new LeoException("UH-OH!!! Invalid format. Use edit <task number>");
+            }
+            int index;
+            try {
+                index = Integer.parseInt(words[1]) - 1; // Convert to 0-based index
+            } catch (NumberFormatException e) {
+                throw new LeoException("UH-OH!!! Task number must be an integer. Use edit <integer>");
+            }
 
-        if (index < 0 || index >= todoList.size()) {
-            throw new LeoException("UH-OH!!! Invalid task number.");
-        }
-        Task task = todoList.get(index);
-        // (\\w+) matches / followed by letters/numbers and captures flag name
-        // \\s+ at least one space after flag
-        // ([^/]+) -> everything after the space until the next / ,captures value of flag
-        Pattern pattern = Pattern.compile("/(\\w+)\\s+([^/]+)");
-        Matcher matcher = pattern.matcher(input);
+            if (index < 0 || index >= todoList.size()) {
+                throw new LeoException("UH-OH!!! Invalid task number.");
+            }
+            Task task = todoList.get(index);
+            if (command.getFlagCount() == 0) {
+                throw new LeoException("UH-OH!!! No fields to update. "
+                        + "Use /name, /by, /from, or /to to specify fields.");
+            }
+            for (int i = 0; i < command.getFlagCount(); i++) {
+                if (command.getFlagValue(i).isEmpty()) {
+                    throw new LeoException("UH-OH!!! Please provide a new value after /"
+                            + command.getFlagName(i) + ".");
+                }
+            }
 
-        if (!matcher.find()) {
-            throw new LeoException("UH-OH!!! No fields to update. Use /name, /by, /from, or /to to specify fields.");
-        }
-        matcher.reset(); // Reset matcher to start from the beginning
+            Runnable restoreFields = fieldRestorerOf(task);
+            unindexTask(task); // the name or dates may change, so re-index the task once all fields are updated
+            try {
+                for (int i = 0; i < command.getFlagCount(); i++) {
+                    updateTaskField(task, command.getFlagName(i), command.getFlagValue(i));
+                }
+            } catch (LeoException e) {
+                restoreFields.run(); // an edit changes all the given fields or none of them
+                throw e;
+            } finally {
+                indexTask(task);
+            }
+            recordUndo(() -> {
+                unindexTask(task);
+                restoreFields.run();
+                indexTask(task);
+            });
 
-        while (matcher.find()) {
-            String field = matcher.group(1); // flag name
-            String value = matcher.group(2).trim(); // value
-            updateTaskField(task, field, value);
+            persist(TaskJournal.editRecord(index, task));
+            String updateMsg = "Task updated: " + task.toString();
+            output.print(updateMsg);
+            return updateMsg;
+        } finally {
+            lock.writeLock().unlock();
         }
-
-        saveTasksToFile(todoList);
-        String updateMsg = "Task updated: " + task.toString();
-        System.out.println(updateMsg);
-        return updateMsg;
     }
 
     /**
@@ -338,24 +1128,85 @@ public class TaskManager {
 
 
     /**
-     * Prints the current todo list.
+     * Prints one page of the task list. With no arguments the first page is shown.
+     * Usage: list [page] [--page-size size]. A page size given here is kept for later list commands.
+     *
+     * @param words The input command split into words.
+     * @throws LeoException If the page number or page size is invalid.
      */
-    public String printList() {
-        String startLine = "Here are the tasks in your list:";
-        String result = startLine;
-        System.out.println(result);
-        assert todoList != null : "taskList must not be null";
-        if (todoList.isEmpty()) {
-            String emptyMsg = "Your task list is empty.";
-            System.out.println(emptyMsg);
-            return emptyMsg;
+    public String printList(String... words) throws LeoException {
+        lock.readLock().lock();
+        try {
+            int page = 1;
+            int pageSize = this.pageSize; // read once, as another thread may change it meanwhile
+            for (int i = 1; i < words.length; i++) {
+                if (words[i].equals(PAGE_SIZE_FLAG)) {
+                    if (i + 1 >= words.length) {
+                        throw new LeoException("UH-OH!!! Please provide a page size. Use list --page-size <integer>");
+                    }
+                    pageSize = parsePositive(words[++i], "Page size", "list --page-size <integer>");
+                    this.pageSize = pageSize;
+                } else if (!words[i].isEmpty()) {
+                    page = parsePositive(words[i], "Page number", "list <page number>");
+                }
+            }
+            assert todoList != null : "taskList must not be null";
+            if (todoList.isEmpty()) {
+                String emptyMsg = "Your task list is empty.";
+                output.print(emptyMsg);
+                return emptyMsg;
+            }
+            int pageCount = (todoList.size() - 1) / pageSize + 1;
+            if (page > pageCount) {
+                throw new LeoException("UH-OH!!! Your list only has " + pageCount
+                        + (pageCount == 1 ? " page." : " pages."));
+            }
+
+            StringBuilder listBuffer = listBuffers.get();
+            listBuffer.setLength(0);
+            listBuffer.append("Here are the tasks in your list");
+            if (pageCount > 1) {
+                listBuffer.append(" (page ").append(page).append(" of ").append(pageCount).append(')');
+            }
+            listBuffer.append(':');
+            int from = (page - 1) * pageSize;
+            renderTasks(listBuffer, from, Math.min(from + pageSize, todoList.size()));
+            if (page < pageCount) {
+                listBuffer.append("\nType 'list ").append(page + 1).append("' to see the next page.");
+            }
+            String result = listBuffer.toString();
+            output.print(result);
+            if (listBuffer.capacity() > pageSize * 256) {
+                listBuffer.setLength(0);
+                listBuffer.trimToSize(); // don't hold on to a buffer sized for a much larger page size
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
         }
-        for (int i = 0; i < todoList.size(); i++) {
-            String todoTask = (i + 1) + ". " + todoList.get(i);
-            System.out.println(todoTask);
-            result += "\n" + todoTask;
+    }
+
+    /**
+     * Appends the tasks at positions from (inclusive) to to (exclusive) to the output, one numbered line each.
+     */
+    private void renderTasks(StringBuilder output, int from, int to) {
+        ListIterator<Task> tasks = todoList.listIterator(from);
+        for (int i = from; i < to; i++) {
+            output.append('\n').append(i + 1).append(". ").append(tasks.next());
         }
-        return result;
+    }
+
+    private static int parsePositive(String word, String name, String usage) throws LeoException {
+        int value;
+        try {
+            value = Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new LeoException("UH-OH!!! " + name + " must be an integer. Use " + usage);
+        }
+        if (value <= 0) {
+            throw new LeoException("UH-OH!!! " + name + " must be more than 0. Use " + usage);
+        }
+        return value;
     }
 
     /**
@@ -364,26 +1215,165 @@ public class TaskManager {
      * @throws LeoException If no keyword is provided.
      */
     public String findTasks(String... words) throws LeoException {
-        if (words.length < 2) {
-            throw new LeoException("UH-OH!!! Please provide a keyword to search for.");
-        }
-        String keyword = String.join(" ", java.util.Arrays.copyOfRange(words, 1, words.length));
-        // using streams
-        List<String> foundTasks = Stream.iterate(0, x -> x + 1)
-                .limit(todoList.size())
-                .map(i -> todoList.get(i))
-                .filter(task -> task.getName().toLowerCase().contains(keyword.toLowerCase()))
+        lock.readLock().lock();
+        try {
+            if (words.length < 2) {
+                throw new LeoException("UH-OH!!! Please provide a keyword to search for.");
+            }
+            String keyword = String.join(" ", java.util.Arrays.copyOfRange(words, 1, words.length)).toLowerCase();
+            // ask the index for the few tasks that can match; a keyword too short for trigrams matches so many
+            // names that checking every task is as fast as any index lookup
+            Collection<Task> candidates = keyword.length() >= TrigramIndex.GRAM_LENGTH
+                    ? trigramIndex.findCandidates(keyword)
+                    : todoList;
+            List<String> foundTasks = candidates
+                    .stream()
+                    .filter(task -> task.getName().toLowerCase().contains(keyword))
+                    .sorted(Comparator.comparingInt(todoList::slotOf))
+                    .map(task -> (todoList.indexOf(task) + 1) + ". " + task)
+                    .toList();
+
+            if (foundTasks.isEmpty()) {
+                String emptyMsg = "No matching tasks found.";
+                output.print(emptyMsg);
+                return emptyMsg;
+            }
+            String resultMsg = "Here are the matching tasks in your list:\n" + String.join("\n", foundTasks);
+            foundTasks.forEach(output::print);
+            return resultMsg;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes all tasks to a file in the text format, whatever format the task file itself uses.
+     *
+     * @param words The input command split into words, where the rest of the words form the file path.
+     * @throws LeoException If no file path is given or the file cannot be written.
+     */
+    public String exportTasks(String... words) throws LeoException {
+        lock.readLock().lock();
+        try {
+            if (words.length < 2) {
+                throw new LeoException("UH-OH!!! Invalid format. Use export <file path>");
+            }
+            String exportPath = String.join(" ", java.util.Arrays.copyOfRange(words, 1, words.length));
+            try {
+                FileWriting.writeToFile(exportPath, todoList, StorageFormat.TEXT);
+            } catch (IOException e) {
+                throw new LeoException("UH-OH!!! Cannot export to " + exportPath + ": " + e.getMessage());
+            }
+            String exportMsg = "Exported " + todoList.size() + " tasks to " + exportPath;
+            output.print(exportMsg);
+            return exportMsg;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds all tasks from a file in the text format to the end of the todo list.
+     *
+     * @param words The input command split into words, where the rest of the words form the file path.
+     * @throws LeoException If no file path is given or the file cannot be read.
+     */
+    public String importTasks(String... words) throws LeoException {
+        lock.writeLock().lock();
+        try {
+            if (words.length < 2) {
+                throw new LeoException("UH-OH!!! Invalid format. Use import <file path>");
+            }
+            String importPath = String.join(" ", java.util.Arrays.copyOfRange(words, 1, words.length));
+            if (!new File(importPath).isFile()) {
+                throw new LeoException("UH-OH!!! Cannot find the file " + importPath);
+            }
+            int sizeBefore = todoList.size();
+            try {
+                bulkLoad(FileWriting.readFromFile(importPath));
+            } catch (IOException e) {
+                throw new LeoException("UH-OH!!! Cannot import from " + importPath + ": " + e.getMessage());
+            }
+            int importedCount = todoList.size() - sizeBefore;
+            recordUndo(() -> {
+                for (int i = 0; i < importedCount; i++) {
+                    removeTaskAt(todoList.size() - 1);
+                }
+            });
+            persistAll();
+            String importMsg = "Imported " + (todoList.size() - sizeBefore) + " tasks from " + importPath + "\n"
+                    + "Now you have " + todoList.size() + " tasks in the list.";
+            output.print(importMsg);
+            return importMsg;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the events and deadlines that take place at any time between two dates.
+     * The dates can be given as "yyyy-MM-dd" or "yyyy-MM-dd HHmm", e.g. "between 2025-09-01 2025-09-30 1800".
+     *
+     * @param words The input command split into words.
+     * @throws LeoException If the dates are missing or invalid.
+     */
+    public String findTasksBetween(String... words) throws LeoException {
+        lock.readLock().lock();
+        try {
+            int fromLength = words.length > 2 && isTime(words[2]) ? 2 : 1;
+            if (words.length <= 1 + fromLength) {
+                throw new LeoException("UH-OH!!! Invalid format. Use between <from date> <to date>");
+            }
+            String from = String.join(" ", java.util.Arrays.copyOfRange(words, 1, 1 + fromLength));
+            String to = String.join(" ", java.util.Arrays.copyOfRange(words, 1 + fromLength, words.length));
+            LocalDateTime fromDate = DateTimeParser.parseDateTime(from, "fromDate");
+            LocalDateTime toDate = DateTimeParser.parseDateTime(to, "toDate");
+            if (fromDate.isAfter(toDate)) {
+                throw new LeoException("UH-OH!!! The from date cannot be after the to date.");
+            }
+            return formatScheduledTasks(fromDate, toDate, "between " + from + " and " + to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the events and deadlines that take place at any time on the given day.
+     *
+     * @param words The input command split into words, where the second word is the date.
+     * @throws LeoException If the date is missing or invalid.
+     */
+    public String findTasksOn(String... words) throws LeoException {
+        lock.readLock().lock();
+        try {
+            if (words.length != 2) {
+                throw new LeoException("UH-OH!!! Invalid format. Use on <date>");
+            }
+            LocalDate day = DateTimeParser.parseDateTime(words[1], "date").toLocalDate();
+            return formatScheduledTasks(day.atStartOfDay(), day.atTime(LocalTime.MAX), "on " + words[1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String formatScheduledTasks(LocalDateTime from, LocalDateTime to, String period) {
+        List<String> foundTasks = intervalIndex.findOverlapping(from, to)
+                .stream()
                 .map(task -> (todoList.indexOf(task) + 1) + ". " + task)
                 .toList();
 
         if (foundTasks.isEmpty()) {
-            String emptyMsg = "No matching tasks found.";
-            System.out.println(emptyMsg);
+            String emptyMsg = "Nothing scheduled " + period + ".";
+            output.print(emptyMsg);
             return emptyMsg;
         }
-        String resultMsg = "Here are the matching tasks in your list:\n" + String.join("\n", foundTasks);
-        foundTasks.forEach(System.out::println);
+        String resultMsg = "Here are the tasks " + period + ":\n" + String.join("\n", foundTasks);
+        foundTasks.forEach(output::print);
         return resultMsg;
     }
 
+    private static boolean isTime(String word) {
+        return word.length() == 4 && word.chars().allMatch(Character::isDigit);
+    }
+
 }
@@ -19,7 +19,7 @@ public class ToDo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T] " + super.toString();
+    protected String render() {
+        return "[T] " + super.render();
     }
 }
@@ -0,0 +1,105 @@
+package chatbot.taskhandler;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from every three-character substring (trigram) of the lower-cased task names to the tasks containing it.
+ * A name can only contain a keyword if it contains every trigram of the keyword, so intersecting the trigram
+ * postings gives a small set of candidates that only needs checking with {@code contains}.
+ * Keywords shorter than three characters have no trigrams and must be looked up some other way.
+ */
+public class TrigramIndex {
+    public static final int GRAM_LENGTH = 3;
+
+    /** Rough size of one posting entry: two references in an IdentityHashMap table kept under 2/3 full. */
+    private static final int BYTES_PER_POSTING = 12;
+    /** Rough size of one trigram key: the String, its bytes, the map entry and an empty posting set. */
+    private static final int BYTES_PER_TRIGRAM = 160;
+
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+    private long postingCount = 0;
+
+    /**
+     * Adds a task under every trigram of its current name.
+     *
+     * @param task The task to add.
+     */
+    public void add(Task task) {
+        for (String trigram : trigramsOf(task.getName().toLowerCase())) {
+            Set<Task> tasks = postings.computeIfAbsent(trigram,
+                    key -> Collections.newSetFromMap(new IdentityHashMap<>()));
+            if (tasks.add(task)) {
+                postingCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index. Must be called before the task's name changes.
+     *
+     * @param task The task to remove.
+     */
+    public void remove(Task task) {
+        for (String trigram : trigramsOf(task.getName().toLowerCase())) {
+            Set<Task> tasks = postings.get(trigram);
+            if (tasks == null || !tasks.remove(task)) {
+                continue;
+            }
+            postingCount--;
+            if (tasks.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns every task whose name contains all the trigrams of the keyword.
+     * The work done is bounded by the size of the smallest posting list, not by the number of tasks.
+     *
+     * @param keyword The lower-cased keyword, at least {@link #GRAM_LENGTH} characters long.
+     * @return The candidate tasks, in no particular order.
+     */
+    public Set<Task> findCandidates(String keyword) {
+        assert keyword.length() >= GRAM_LENGTH : "Keyword is too short to have trigrams";
+        Set<String> trigrams = trigramsOf(keyword);
+        Set<Task> smallest = null;
+        for (String trigram : trigrams) {
+            Set<Task> tasks = postings.get(trigram);
+            if (tasks == null) {
+                return Set.of(); // no task has this trigram, so none can match
+            }
+            if (smallest == null || tasks.size() < smallest.size()) {
+                smallest = tasks;
+            }
+        }
+        Set<Task> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Task task : smallest) {
+            if (trigrams.stream().allMatch(trigram -> postings.get(trigram).contains(task))) {
+                candidates.add(task);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Describes how large the index is, with a rough estimate of the memory it takes up.
+     */
+    public String describeMemoryUsage() {
+        long estimatedBytes = postings.size() * (long) BYTES_PER_TRIGRAM + postingCount * BYTES_PER_POSTING;
+        return "Search index: " + postings.size() + " trigrams, " + postingCount + " postings, about "
+                + (estimatedBytes / 1024) + " KB.";
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
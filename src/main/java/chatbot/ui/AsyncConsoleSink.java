@@ -0,0 +1,119 @@
+package chatbot.ui;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Prints messages to the console from a background thread, so commands do not wait for console output.
+ * Messages are printed in the order they were given, and whatever has queued up is written in one go.
+ */
+public class AsyncConsoleSink implements OutputSink {
+    private static final String END_OF_OUTPUT = new String("end of output"); // compared by identity
+
+    private final PrintStream out;
+    private final BlockingQueue<String> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    // both counts are guarded by this
+    private long printedCount = 0;
+    private long writtenCount = 0;
+    private volatile boolean isClosed = false;
+
+    /**
+     * Constructs an AsyncConsoleSink that prints to standard output.
+     */
+    public AsyncConsoleSink() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs an AsyncConsoleSink that prints to the given stream.
+     *
+     * @param out The stream to print to.
+     */
+    public AsyncConsoleSink(PrintStream out) {
+        assert out != null : "Output stream must not be null";
+        this.out = out;
+        this.writer = new Thread(this::writeMessages, "leo-console-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void print(String message) {
+        assert !isClosed : "Nothing should be printed after the sink is closed";
+        printedCount++;
+        queue.add(message);
+    }
+
+    @Override
+    public synchronized void flush() {
+        boolean isInterrupted = false;
+        while (writtenCount < printedCount && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            queue.add(END_OF_OUTPUT);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeMessages() {
+        List<String> batch = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                boolean isEnd = false;
+                int messageCount = 0;
+                text.setLength(0);
+                for (String message : batch) {
+                    if (message == END_OF_OUTPUT) {
+                        isEnd = true;
+                        break;
+                    }
+                    text.append(message).append(System.lineSeparator());
+                    messageCount++;
+                }
+                out.print(text);
+                out.flush();
+                batch.clear();
+                synchronized (this) {
+                    writtenCount += messageCount;
+                    notifyAll();
+                }
+                if (isEnd) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (this) {
+                notifyAll(); // wake any flush() waiting on a writer that is no longer running
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package chatbot.ui;
+
+import java.io.PrintStream;
+
+/**
+ * Prints each message to the console as soon as it is given.
+ */
+public class ConsoleSink implements OutputSink {
+    private final PrintStream out;
+
+    /**
+     * Constructs a ConsoleSink that prints to standard output.
+     */
+    public ConsoleSink() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs a ConsoleSink that prints to the given stream.
+     *
+     * @param out The stream to print to.
+     */
+    public ConsoleSink(PrintStream out) {
+        assert out != null : "Output stream must not be null";
+        this.out = out;
+    }
+
+    @Override
+    public void print(String message) {
+        out.println(message);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
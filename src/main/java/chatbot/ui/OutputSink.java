@@ -0,0 +1,28 @@
+package chatbot.ui;
+
+/**
+ * Destination for the messages Leo prints while handling commands.
+ * Commands always return their reply as well, so a user interface that shows the returned replies
+ * can use {@link SilentSink} and skip rendering to the console altogether.
+ */
+public interface OutputSink {
+    /**
+     * Prints a message, which may span several lines.
+     *
+     * @param message The message to print.
+     */
+    void print(String message);
+
+    /**
+     * Waits until every message printed so far has been written out.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Writes out any pending messages and releases the sink. Nothing should be printed afterwards.
+     */
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,12 @@
+package chatbot.ui;
+
+/**
+ * Drops every message. Used by the GUI, which shows the replies returned by commands instead,
+ * and by benchmarks that should not measure console output.
+ */
+public class SilentSink implements OutputSink {
+    @Override
+    public void print(String message) {
+        // nobody reads the console here
+    }
+}
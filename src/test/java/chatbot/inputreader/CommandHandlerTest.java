@@ -0,0 +1,96 @@
+package chatbot.inputreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.TaskManager;
+
+public class CommandHandlerTest {
+
+    @Test
+    public void testRunScriptSavesOnceAtEnd() throws LeoException, IOException {
+        File taskFile = File.createTempFile("tempfile", ".txt");
+        taskFile.deleteOnExit();
+        File script = File.createTempFile("script", ".txt");
+        script.deleteOnExit();
+        Files.write(script.toPath(), List.of(
+                "todo read book",
+                "",
+                "deadline return book /by 2025-09-16",
+                "mark 7",
+                "mark 1",
+                "bye",
+                "todo never run"));
+        TaskManager manager = new TaskManager(taskFile.getAbsolutePath(), PersistenceMode.JOURNAL);
+        CommandHandler handler = new CommandHandler(manager);
+
+        String summary = handler.runScript("run", script.getAbsolutePath(), "--persist-every", "2");
+
+        assertTrue(summary.startsWith("Ran 4 commands from " + script.getAbsolutePath()), summary);
+        assertTrue(summary.contains("3 succeeded, 1 failed."), summary);
+        assertTrue(summary.contains("\nLine 4: UH-OH!!!"), summary);
+        assertEquals(0, new TaskJournal(taskFile.getAbsolutePath()).size());
+        assertEquals(List.of("T | 1 | read book", "D | 0 | return book | 2025-09-16"),
+                FileWriting.readFromFile(taskFile.getAbsolutePath()));
+    }
+
+    @Test
+    public void testRunScriptInTransactionSavesNothingBeforeCommit() throws LeoException, IOException {
+        File script = File.createTempFile("script", ".txt");
+        script.deleteOnExit();
+        Files.write(script.toPath(), List.of("todo read book", "todo water plants", "todo call mum"));
+        for (PersistenceMode mode : new PersistenceMode[] {PersistenceMode.SNAPSHOT, PersistenceMode.JOURNAL}) {
+            File taskFile = File.createTempFile("tempfile", ".txt");
+            taskFile.deleteOnExit();
+            new File(taskFile.getAbsolutePath() + TaskJournal.JOURNAL_SUFFIX).deleteOnExit();
+            TaskManager manager = new TaskManager(taskFile.getAbsolutePath(), mode);
+            CommandHandler handler = new CommandHandler(manager);
+
+            handler.handleCommand("todo keep");
+            handler.handleCommand("begin");
+            handler.runScript("run", script.getAbsolutePath(), "--persist-every", "1");
+            handler.handleCommand("rollback");
+
+            assertEquals(1, manager.getTodoList().size());
+            assertEquals(1, new TaskManager(taskFile.getAbsolutePath(), mode).getTodoList().size());
+        }
+    }
+
+    @Test
+    public void testRunScriptInvalidOptions() throws IOException {
+        File taskFile = File.createTempFile("tempfile", ".txt");
+        taskFile.deleteOnExit();
+        CommandHandler handler = new CommandHandler(new TaskManager(taskFile.getAbsolutePath()));
+
+        assertThrows(LeoException.class, () -> handler.runScript("run"));
+        assertThrows(LeoException.class, () -> handler.runScript("run", "missing-script.txt"));
+        assertThrows(LeoException.class, () -> handler.runScript("run", "script.txt", "--persist-every", "0"));
+    }
+
+    @Test
+    public void testStatsReportsCommandsAndBytesWritten() throws LeoException, IOException {
+        File taskFile = File.createTempFile("tempfile", ".txt");
+        taskFile.deleteOnExit();
+        CommandHandler handler = new CommandHandler(new TaskManager(taskFile.getAbsolutePath()));
+
+        handler.handleCommand("todo read book");
+        handler.handleCommand("list");
+        handler.handleCommand("list 5");
+        String stats = handler.handleCommand("stats");
+
+        assertTrue(stats.contains("\ntodo: 1 runs, p50 "), stats);
+        assertTrue(stats.contains("\nlist: 2 runs, p50 "), stats);
+        assertTrue(stats.contains("\nParsing: 3 commands, "), stats);
+        assertTrue(stats.contains("\nSaving: 1 writes, "), stats);
+        assertTrue(stats.endsWith(", " + taskFile.length() + " bytes written"), stats);
+    }
+}
@@ -0,0 +1,67 @@
+package chatbot.inputreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.Deadline;
+import chatbot.taskhandler.Task;
+import chatbot.taskhandler.ToDo;
+
+/**
+ * Test class for FileWriting.
+ */
+public class FileWritingTest {
+
+    @Test
+    public void testWriteThenReadStripsChecksum() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        List<Task> tasks = List.of(new ToDo("Read a book"), new Deadline("Submit assignment", "2023-10-01 1800"));
+
+        FileWriting.writeToFile(filePath, tasks);
+
+        List<String> rawLines = Files.readAllLines(tempFile.toPath());
+        assertEquals(3, rawLines.size());
+        assertTrue(rawLines.get(2).startsWith(FileWriting.CHECKSUM_PREFIX));
+        assertEquals(List.of("T | 0 | Read a book", "D | 0 | Submit assignment | 2023-10-01 1800"),
+                FileWriting.readFromFile(filePath));
+        assertFalse(Files.exists(Path.of(filePath + FileWriting.TEMP_SUFFIX)));
+        assertFalse(Files.exists(Path.of(filePath + FileWriting.BACKUP_SUFFIX)));
+    }
+
+    @Test
+    public void testReadDamagedFileKeepsBackup() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        Path backup = Path.of(filePath + FileWriting.BACKUP_SUFFIX);
+        backup.toFile().deleteOnExit();
+
+        FileWriting.writeToFile(filePath, List.of(new ToDo("Read a book")));
+        List<String> rawLines = Files.readAllLines(tempFile.toPath());
+        Files.write(tempFile.toPath(), List.of("T | 1 | Read a book", rawLines.get(1)));
+
+        assertEquals(List.of("T | 1 | Read a book"), FileWriting.readFromFile(filePath));
+        assertTrue(Files.exists(backup));
+    }
+
+    @Test
+    public void testReadFileWithoutChecksum() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        Files.write(tempFile.toPath(), List.of("T | 0 | Read a book"));
+
+        assertEquals(List.of("T | 0 | Read a book"), FileWriting.readFromFile(tempFile.getAbsolutePath()));
+    }
+}
@@ -0,0 +1,59 @@
+package chatbot.inputreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.exceptions.LeoException;
+import chatbot.taskhandler.Deadline;
+import chatbot.taskhandler.Event;
+import chatbot.taskhandler.Task;
+import chatbot.taskhandler.ToDo;
+
+/**
+ * Test class for ParallelTaskLoader.
+ */
+public class ParallelTaskLoaderTest {
+
+    @Test
+    public void testLoadKeepsFileOrder() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            tasks.add(new ToDo("Read book " + i));
+            tasks.add(new Deadline("Submit assignment " + i, "2023-10-01 1800"));
+            tasks.add(new Event("Meeting " + i, "2025-08-30", "2025-08-31"));
+        }
+        FileWriting.writeToFile(filePath, tasks);
+
+        List<Task> loadedTasks = ParallelTaskLoader.readFromFile(filePath);
+
+        assertEquals(tasks.size(), loadedTasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).formatData(), loadedTasks.get(i).formatData());
+        }
+        assertFalse(Files.exists(Path.of(filePath + FileWriting.BACKUP_SUFFIX)));
+    }
+
+    @Test
+    public void testLoadFileWithoutChecksum() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        Files.writeString(tempFile.toPath(), "T | 0 | Read a book\r\n\r\nT | 1 | Write a book");
+
+        List<Task> loadedTasks = ParallelTaskLoader.readFromFile(tempFile.getAbsolutePath());
+
+        assertEquals(2, loadedTasks.size());
+        assertEquals("[T] [X] Write a book", loadedTasks.get(1).toString());
+    }
+}
@@ -0,0 +1,54 @@
+package chatbot.inputreader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.metrics.CommandMetrics;
+import chatbot.taskhandler.ToDo;
+
+/**
+ * Test class for WriteBehindFlusher.
+ */
+public class WriteBehindFlusherTest {
+
+    @Test
+    public void testFailedWriteIsRetried() throws IOException {
+        Path directory = Files.createTempDirectory("leo");
+        Path missingDirectory = directory.resolve("data");
+        String filePath = missingDirectory.resolve("leo.txt").toString();
+        WriteBehindFlusher flusher = new WriteBehindFlusher(filePath, 60_000, new CommandMetrics(),
+                () -> TaskFileSnapshot.of(List.of(new ToDo("Read a book")), StorageFormat.TEXT));
+
+        flusher.markDirty();
+        flusher.flush(); // fails, as the folder of the task file does not exist
+        assertTrue(flusher.isDirty());
+        assertEquals(0, flusher.getWriteCount());
+
+        Files.createDirectory(missingDirectory);
+        flusher.close();
+        assertFalse(flusher.isDirty());
+        assertEquals(1, flusher.getWriteCount());
+        assertEquals(List.of("T | 0 | Read a book"), FileWriting.readFromFile(filePath));
+    }
+
+    @Test
+    public void testMarkDirtyAfterCloseIsRefused() throws IOException {
+        Path taskFile = Files.createTempFile("tempfile", ".txt");
+        taskFile.toFile().deleteOnExit();
+        WriteBehindFlusher flusher = new WriteBehindFlusher(taskFile.toString(), 0, new CommandMetrics(),
+                () -> TaskFileSnapshot.of(List.of(new ToDo("Read a book")), StorageFormat.TEXT));
+
+        assertTrue(flusher.markDirty());
+        flusher.close();
+        assertFalse(flusher.markDirty());
+        assertEquals(1, flusher.getWriteCount());
+    }
+}
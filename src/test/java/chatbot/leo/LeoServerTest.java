@@ -0,0 +1,152 @@
+package chatbot.leo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.taskhandler.TaskManager;
+import chatbot.ui.SilentSink;
+
+public class LeoServerTest {
+    private static final int COMMANDS_PER_CLIENT = 200;
+
+    @Test
+    public void testClientsShareTaskList() throws Exception {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND,
+                StorageFormat.TEXT, 60_000, new SilentSink());
+        try (LeoServer server = new LeoServer(manager, 0)) {
+            server.start();
+            try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+                assertEquals("Got it! I've added this task: [T] [ ] read book\nNow you have 1 tasks in the list.",
+                        first.send("todo read book"));
+                assertEquals("Here are the tasks in your list:\n1. [T] [ ] read book", second.send("list"));
+                assertTrue(second.send("mark 5").startsWith("UH-OH!!!"));
+                assertEquals("Bye ! Hope to see you soon!", first.send("bye"));
+            }
+            assertEquals(3, server.getLatency().getCount());
+        }
+        manager.close();
+    }
+
+    @Test
+    public void testClientsCannotChangeSharedState() throws Exception {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND,
+                StorageFormat.TEXT, 60_000, new SilentSink());
+        try (LeoServer server = new LeoServer(manager, 0)) {
+            server.start();
+            try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+                assertTrue(first.send("begin").startsWith("UH-OH!!!"));
+                first.send("todo read book");
+                assertTrue(second.send("rollback").startsWith("UH-OH!!!"));
+                assertTrue(second.send("run script.txt").startsWith("UH-OH!!!"));
+                assertTrue(second.send("list --page-size 1").startsWith("UH-OH!!!"));
+                assertEquals("Here are the tasks in your list:\n1. [T] [ ] read book", first.send("list"));
+            }
+        }
+        manager.close();
+    }
+
+    /**
+     * Load generator: 1, 4 and 16 clients each send a mix of adds, finds and lists, and the throughput is printed.
+     */
+    @Test
+    public void testThroughputWithConcurrentClients() throws Exception {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND,
+                StorageFormat.TEXT, 60_000, new SilentSink());
+        int expectedTasks = 0;
+        try (LeoServer server = new LeoServer(manager, 0)) {
+            server.start();
+            for (int clientCount : new int[] {1, 4, 16}) {
+                long startTime = System.nanoTime();
+                runClients(server.getPort(), clientCount);
+                long elapsedNanos = System.nanoTime() - startTime;
+                expectedTasks += clientCount * COMMANDS_PER_CLIENT / 2;
+                System.out.println(clientCount + " clients: "
+                        + clientCount * COMMANDS_PER_CLIENT * 1_000_000_000L / elapsedNanos + " commands/s");
+            }
+            System.out.println(server.getLatency().summarize("commands"));
+        }
+        manager.close();
+        assertEquals(expectedTasks, manager.getTodoList().size());
+    }
+
+    private static void runClients(int port, int clientCount) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int c = 0; c < clientCount; c++) {
+                int clientNumber = c;
+                results.add(executor.submit(() -> {
+                    int failures = 0;
+                    try (Client client = new Client(port)) {
+                        for (int i = 0; i < COMMANDS_PER_CLIENT; i++) {
+                            String reply = i % 2 == 0
+                                    ? client.send("todo task " + clientNumber + " " + i)
+                                    : client.send(i % 4 == 1 ? "find task " + clientNumber : "list");
+                            failures += reply.startsWith("UH-OH") ? 1 : 0;
+                        }
+                    }
+                    return failures;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(0, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A connection to the server that sends one command at a time and waits for the reply.
+     */
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        String send(String command) throws IOException {
+            out.println(command);
+            StringBuilder reply = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null && !line.isEmpty()) {
+                reply.append(reply.length() == 0 ? "" : "\n").append(line);
+            }
+            return reply.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package chatbot.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.inputreader.CommandType;
+
+public class CommandMetricsTest {
+
+    @Test
+    public void testRecordsPerCommandType() {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.recordCommand(CommandType.LIST, 1_000);
+        metrics.recordCommand(CommandType.LIST, 3_000);
+        metrics.recordCommand(CommandType.MARK, 2_000);
+
+        assertEquals(2, metrics.getCommandLatency(CommandType.LIST).getCount());
+        assertEquals(3_000, metrics.getCommandLatency(CommandType.LIST).getMaxNanos());
+        assertEquals(1, metrics.getCommandLatency(CommandType.MARK).getCount());
+        assertEquals(0, metrics.getCommandLatency(CommandType.TODO).getCount());
+
+        String summary = metrics.summarize();
+        assertTrue(summary.contains("\nlist: 2 runs, "), summary);
+        assertTrue(summary.contains("\nmark: 1 runs, "), summary);
+        assertFalse(summary.contains("todo"), summary);
+    }
+
+    @Test
+    public void testSaveTimeIsTrackedPerThread() throws InterruptedException {
+        CommandMetrics metrics = new CommandMetrics();
+        metrics.recordSave(5_000, 100);
+        Thread other = new Thread(() -> metrics.recordSave(7_000, 50));
+        other.start();
+        other.join();
+
+        assertEquals(5_000, metrics.getSaveNanosOfThisThread());
+        assertEquals(2, metrics.getSaveLatency().getCount());
+        assertEquals(150, metrics.getBytesWritten());
+    }
+}
@@ -0,0 +1,85 @@
+package chatbot.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.exceptions.LeoException;
+import chatbot.inputreader.CommandHandler;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.taskhandler.TaskManager;
+import chatbot.ui.SilentSink;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+    @Test
+    public void testEventsAreOffByDefault() throws IOException, ParseException, LeoException {
+        File taskFile = File.createTempFile("tempfile", ".txt");
+        taskFile.deleteOnExit();
+        try (Recording recording = new Recording(Configuration.getConfiguration("default"))) {
+            recording.start();
+            runCommands(taskFile);
+            recording.stop();
+
+            assertEquals(List.of(), leoEventsIn(recording));
+        }
+    }
+
+    @Test
+    public void testEventsAreRecordedWhenEnabled() throws IOException, LeoException {
+        File taskFile = File.createTempFile("tempfile", ".txt");
+        taskFile.deleteOnExit();
+        try (Recording recording = new Recording()) {
+            recording.enable("chatbot.Command");
+            recording.enable("chatbot.TaskFileWrite");
+            recording.enable("chatbot.TaskFileLoad");
+            recording.start();
+            runCommands(taskFile);
+            recording.stop();
+
+            List<RecordedEvent> events = leoEventsIn(recording);
+            List<String> names = events.stream().map(event -> event.getEventType().getName())
+                    .collect(Collectors.toList());
+            assertEquals(List.of("chatbot.TaskFileLoad", "chatbot.TaskFileWrite", "chatbot.Command",
+                    "chatbot.Command"), names);
+            RecordedEvent write = events.get(1);
+            assertEquals(1, write.getInt("taskCount"));
+            assertEquals(taskFile.length(), write.getLong("bytesWritten"));
+            RecordedEvent failedCommand = events.get(3);
+            assertEquals("mark", failedCommand.getString("commandType"));
+            assertTrue(failedCommand.getBoolean("failed"));
+        }
+    }
+
+    private static void runCommands(File taskFile) throws LeoException {
+        TaskManager manager = new TaskManager(taskFile.getAbsolutePath(), PersistenceMode.SNAPSHOT,
+                StorageFormat.TEXT, 0, new SilentSink());
+        CommandHandler handler = new CommandHandler(manager);
+        handler.handleCommand("todo read book");
+        handler.handleCommand("mark 7");
+        manager.close();
+    }
+
+    private static List<RecordedEvent> leoEventsIn(Recording recording) throws IOException {
+        Path dump = File.createTempFile("recording", ".jfr").toPath();
+        dump.toFile().deleteOnExit();
+        recording.dump(dump);
+        return RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().startsWith("chatbot."))
+                .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+                .collect(Collectors.toList());
+    }
+}
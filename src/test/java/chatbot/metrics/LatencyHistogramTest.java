@@ -0,0 +1,38 @@
+package chatbot.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(100_000_000, histogram.getMaxNanos());
+        assertEquals(50_000_500, histogram.getMeanNanos());
+        long median = histogram.getPercentileNanos(0.5);
+        assertTrue(median >= 50_000_000 && median <= 50_000_000 * 1.125, "median was " + median);
+        long p99 = histogram.getPercentileNanos(0.99);
+        assertTrue(p99 >= 99_000_000 && p99 <= 100_000_000, "p99 was " + p99);
+        assertEquals(100_000_000, histogram.getPercentileNanos(1));
+    }
+
+    @Test
+    public void testSmallValuesAndEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(0.99));
+        assertEquals("0 requests, p50 0.00 ms, p99 0.00 ms, max 0.00 ms", histogram.summarize("requests"));
+
+        histogram.record(3);
+        histogram.record(-5);
+        assertEquals(0, histogram.getPercentileNanos(0.5));
+        assertEquals(3, histogram.getPercentileNanos(1));
+    }
+}
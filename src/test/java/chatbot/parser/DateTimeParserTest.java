@@ -0,0 +1,37 @@
+package chatbot.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import chatbot.exceptions.LeoException;
+
+public class DateTimeParserTest {
+
+    @Test
+    public void testCommonShapes() throws LeoException {
+        assertEquals(LocalDateTime.of(2025, 9, 16, 0, 0), DateTimeParser.parseDateTime("2025-09-16", "date"));
+        assertEquals(LocalDateTime.of(2025, 9, 16, 12, 30), DateTimeParser.parseDateTime("2025-09-16 1230", "date"));
+        assertEquals(LocalDateTime.of(2025, 9, 16, 12, 30),
+                DateTimeParser.parseDateTime(" 2025-09-16 \t 1230\n", "date"));
+        assertEquals(LocalDateTime.of(2024, 2, 29, 0, 0), DateTimeParser.parseDateTime("2024-02-29", "date"));
+    }
+
+    @Test
+    public void testUnusualValuesResolvedByFormatter() throws LeoException {
+        assertEquals(LocalDateTime.of(2025, 2, 28, 0, 0), DateTimeParser.parseDateTime("2025-02-30", "date"));
+        assertEquals(LocalDateTime.of(2025, 9, 17, 0, 0), DateTimeParser.parseDateTime("2025-09-16 2400", "date"));
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(LeoException.class, () -> DateTimeParser.parseDateTime("2025-13-01", "date"));
+        assertThrows(LeoException.class, () -> DateTimeParser.parseDateTime("2025-09-16 12:30", "date"));
+        assertThrows(LeoException.class, () -> DateTimeParser.parseDateTime("2025-9-16", "date"));
+        assertThrows(LeoException.class, () -> DateTimeParser.parseDateTime("2025-09-16 2360", "date"));
+        assertThrows(LeoException.class, () -> DateTimeParser.parseDateTime("   ", "date"));
+    }
+}
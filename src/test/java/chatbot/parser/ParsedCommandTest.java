@@ -0,0 +1,55 @@
+package chatbot.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class ParsedCommandTest {
+
+    @Test
+    public void testDescriptionAndFlags() {
+        ParsedCommand command =
+                ParsedCommand.parse("  event  team  meeting /from 2025-09-16 1400 /to  2025-09-16 1600 ");
+
+        assertEquals("event", command.getVerb());
+        assertEquals("team  meeting", command.getDescription());
+        assertEquals(2, command.getFlagCount());
+        assertEquals("from", command.getFlagName(0));
+        assertEquals("2025-09-16 1400", command.getFlagValue(0));
+        assertEquals("2025-09-16 1600", command.getFlag("to"));
+        assertNull(command.getFlag("by"));
+        assertEquals("team  meeting /from 2025-09-16 1400 /to  2025-09-16 1600", command.getText());
+    }
+
+    @Test
+    public void testWordsAndSlashesInsideValues() {
+        ParsedCommand command = ParsedCommand.parse("edit 2 /name read a/b /by");
+
+        assertArrayEquals(new String[] {"edit", "2", "/name", "read", "a/b", "/by"}, command.getWords());
+        assertEquals("2", command.getDescription());
+        assertEquals("read a/b", command.getFlag("name"));
+        assertEquals("", command.getFlag("by"));
+    }
+
+    @Test
+    public void testUnknownFlagsStayInDescription() {
+        ParsedCommand command = ParsedCommand.parse("deadline fix /etc /hosts /by 2024-01-01");
+
+        assertEquals("fix /etc /hosts", command.getDescription());
+        assertEquals(1, command.getFlagCount());
+        assertEquals("2024-01-01", command.getFlag("by"));
+        assertNull(command.getFlag("etc"));
+    }
+
+    @Test
+    public void testBlankInput() {
+        ParsedCommand command = ParsedCommand.parse("   ");
+
+        assertEquals("", command.getVerb());
+        assertEquals("", command.getText());
+        assertEquals("", command.getDescription());
+        assertEquals(0, command.getFlagCount());
+    }
+}
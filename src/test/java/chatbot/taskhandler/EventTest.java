@@ -1,6 +1,7 @@
 package chatbot.taskhandler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,22 @@ public class EventTest {
         assertEquals("E | 0 | Team Meeting | 2025-09-20 | 2025-09-21", event.formatData());
     }
 
+    // Test the cached display line is reused until a setter changes the event
+    @Test
+    public void testDisplayStringUpdatedBySetters() throws LeoException {
+        Event event = new Event("Team Meeting", "2025-09-20", "2025-09-21");
+        String display = event.toString();
+
+        assertSame(display, event.toString());
+
+        event.setEndDate("2025-09-22 1030");
+        assertEquals("[E] [ ] Team Meeting (from: Sep 20 2025 00:00 to: Sep 22 2025 10:30)", event.toString());
+        event.setStartDate("2025-09-21");
+        event.setName("Offsite");
+        event.setDone(true);
+        assertEquals("[E] [X] Offsite (from: Sep 21 2025 00:00 to: Sep 22 2025 10:30)", event.toString());
+    }
+
     // Test invalid date format for start date
     @Test
     public void testEventCreationInvalidStartDate() {
@@ -0,0 +1,73 @@
+package chatbot.taskhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for TaskList.
+ */
+public class TaskListTest {
+
+    @Test
+    public void testRemoveKeepsOrderAndIds() {
+        TaskList taskList = new TaskList();
+        Task first = new ToDo("first");
+        Task second = new ToDo("second");
+        Task third = new ToDo("third");
+        taskList.add(first);
+        taskList.add(second);
+        taskList.add(third);
+
+        assertSame(second, taskList.remove(1));
+
+        assertEquals(2, taskList.size());
+        assertSame(third, taskList.get(1));
+        assertEquals(1, taskList.indexOf(third));
+        assertEquals(-1, taskList.indexOf(second));
+        assertSame(first, taskList.findById(first.getId()));
+        assertNull(taskList.findById(second.getId()));
+        assertEquals(List.of(first, third), new ArrayList<>(taskList));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.get(2));
+
+        taskList.add(1, second);
+        assertEquals(List.of(first, second, third), new ArrayList<>(taskList));
+        assertEquals(2, taskList.indexOf(third));
+        assertSame(second, taskList.findById(second.getId()));
+    }
+
+    @Test
+    public void testMatchesArrayListUnderRandomChanges() {
+        TaskList taskList = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int action = random.nextInt(4);
+            if (expected.isEmpty() || action < 2) {
+                Task task = new ToDo("task " + i);
+                taskList.add(task);
+                expected.add(task);
+            } else if (action == 2) {
+                int index = random.nextInt(expected.size());
+                assertSame(expected.remove(index), taskList.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                Task task = new ToDo("replacement " + i);
+                assertSame(expected.set(index, task), taskList.set(index, task));
+            }
+            int index = random.nextInt(expected.size() + 1) - 1;
+            if (index >= 0) {
+                assertSame(expected.get(index), taskList.get(index));
+                assertEquals(index, taskList.indexOf(expected.get(index)));
+            }
+        }
+        assertEquals(expected, new ArrayList<>(taskList));
+    }
+}
@@ -1,15 +1,34 @@
 package chatbot.taskhandler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.jupiter.api.Test;
 
 import chatbot.exceptions.LeoException;
+import chatbot.inputreader.FileWriting;
+import chatbot.inputreader.PersistenceMode;
+import chatbot.inputreader.StorageFormat;
+import chatbot.inputreader.TaskJournal;
+import chatbot.inputreader.WriteBehindFlusher;
+import chatbot.ui.SilentSink;
 
 /**
  * Test class for TaskManager.
@@ -303,6 +322,163 @@ public class TaskManagerTest {
         assertEquals(expectedOutput, result);
     }
 
+    @Test
+    public void testPrintListPaginated() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        for (int i = 1; i <= 5; i++) {
+            manager.addTask(new ToDo("task " + i));
+        }
+
+        assertEquals("Here are the tasks in your list (page 1 of 3):\n"
+                + "1. [T] [ ] task 1\n"
+                + "2. [T] [ ] task 2\n"
+                + "Type 'list 2' to see the next page.", manager.printList("list", "--page-size", "2"));
+        assertEquals("Here are the tasks in your list (page 3 of 3):\n"
+                + "5. [T] [ ] task 5", manager.printList("list", "3"));
+        assertThrows(LeoException.class, () -> manager.printList("list", "4"));
+        assertThrows(LeoException.class, () -> manager.printList("list", "0"));
+        assertThrows(LeoException.class, () -> manager.printList("list", "--page-size"));
+        assertEquals("Here are the tasks in your list:\n"
+                + "1. [T] [ ] task 1\n"
+                + "2. [T] [ ] task 2\n"
+                + "3. [T] [ ] task 3\n"
+                + "4. [T] [ ] task 4\n"
+                + "5. [T] [ ] task 5", manager.printList("list", "--page-size", "10"));
+    }
+
+    @Test
+    public void testOutputSinkReceivesMessages() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        List<String> printed = new ArrayList<>();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.SNAPSHOT,
+                StorageFormat.TEXT, WriteBehindFlusher.DEFAULT_FLUSH_DELAY_MILLIS, printed::add);
+        printed.clear();
+        String result = manager.printList();
+
+        assertEquals(List.of(result), printed);
+    }
+
+    @Test
+    public void testRollbackUndoesTransaction() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Submit assignment", "2023-10-01 1800"));
+        manager.addTask(new ToDo("Water plants"));
+        String before = manager.printList();
+
+        manager.beginTransaction();
+        manager.markTask("mark", "2");
+        manager.updateTask("edit 2 /name Submit essay /by 2023-10-05");
+        manager.deleteTask("delete", "1");
+        manager.addTask(new ToDo("Call mum"));
+        assertThrows(LeoException.class, () -> manager.updateTask("edit 1 /name Hand in /by tomorrow"));
+        assertEquals("Rolled back 4 changes.\nNow you have 3 tasks in the list.", manager.rollbackTransaction());
+
+        assertEquals(before, manager.printList());
+        assertEquals("Here are the matching tasks in your list:\n2. [D] [ ] Submit assignment (by: Oct 1 2023 18:00)",
+                manager.findTasks("find", "assignment"));
+        assertEquals(before, new TaskManager(filePath, PersistenceMode.JOURNAL).printList());
+    }
+
+    @Test
+    public void testCommitSavesTransaction() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+
+        manager.beginTransaction();
+        assertThrows(LeoException.class, manager::beginTransaction);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new ToDo("Water plants"));
+        assertEquals("Your task list is empty.", new TaskManager(filePath, PersistenceMode.JOURNAL).printList());
+        assertEquals("Committed 2 changes.", manager.commitTransaction());
+
+        assertEquals(manager.printList(), new TaskManager(filePath, PersistenceMode.JOURNAL).printList());
+        assertThrows(LeoException.class, manager::commitTransaction);
+        assertThrows(LeoException.class, manager::rollbackTransaction);
+    }
+
+    @Test
+    public void testConcurrentReadersNeverSeeHalfEdits() throws Exception {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND,
+                StorageFormat.TEXT, 60_000, new SilentSink());
+        int deadlineCount = 20;
+        for (int i = 1; i <= deadlineCount; i++) {
+            manager.addTask(new Deadline("item" + i + " day1", "2025-01-01"));
+        }
+        Pattern matchingLine = Pattern.compile("item\\d+ day(\\d+) \\(by: Jan (\\d+) 2025");
+        Queue<String> problems = new ConcurrentLinkedQueue<>();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger deleted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        Matcher matcher = matchingLine.matcher(manager.findTasks("find", "item"));
+                        int found = 0;
+                        while (matcher.find()) {
+                            found++;
+                            if (!matcher.group(1).equals(matcher.group(2))) {
+                                problems.add("Half-applied edit: " + matcher.group());
+                            }
+                        }
+                        if (found != deadlineCount) {
+                            problems.add("Found " + found + " deadlines");
+                        }
+                        manager.sortDeadlineTask("due", "5");
+                        manager.printList("list");
+                    }
+                } catch (Exception e) {
+                    problems.add(e.toString());
+                }
+            }));
+        }
+        for (int t = 0; t < 3; t++) {
+            int seed = t;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        int day = 1 + random.nextInt(28);
+                        int task = 1 + random.nextInt(deadlineCount);
+                        manager.updateTask("edit " + task + " /name item" + task + " day" + day
+                                + " /by 2025-01-" + String.format("%02d", day));
+                        manager.addTask(new ToDo("filler"));
+                        added.incrementAndGet();
+                        if (random.nextBoolean() && manager.deleteTask("delete", "" + (deadlineCount + 1))
+                                .startsWith("Removed")) {
+                            deleted.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    problems.add(e.toString());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        manager.close();
+
+        assertEquals(List.of(), new ArrayList<>(problems));
+        assertEquals(deadlineCount + added.get() - deleted.get(), manager.getTodoList().size());
+    }
+
     @Test
     public void testPrintListEmpty() throws LeoException, IOException {
         File tempFile = File.createTempFile("tempfile", ".txt");
@@ -314,4 +490,343 @@ public class TaskManagerTest {
         assertEquals("Your task list is empty.", result);
     }
 
+    @Test
+    public void testJournalReplayedOnRestart() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        Path journalPath = Path.of(filePath + TaskJournal.JOURNAL_SUFFIX);
+        journalPath.toFile().deleteOnExit();
+
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Submit assignment", "2023-10-01 1800"));
+        manager.addTask(new ToDo("Write a book"));
+        manager.markTask("mark", "2");
+        manager.deleteTask("delete", "1");
+        manager.updateTask("edit 2 /name Write a poem");
+
+        // changes only went to the journal, the task file is untouched
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+        assertEquals(7, Files.readAllLines(journalPath).size()); // the base record and six changes
+
+        TaskManager reloaded = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        assertEquals(2, reloaded.getTodoList().size());
+        assertEquals("[D] [X] Submit assignment (by: Oct 1 2023 18:00)", reloaded.getTodoList().get(0).toString());
+        assertEquals("[T] [ ] Write a poem", reloaded.getTodoList().get(1).toString());
+
+        // replaying compacts the journal back into the task file
+        assertEquals(2, FileWriting.readFromFile(filePath).size());
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    public void testJournalNotReplayedAfterCrashDuringCompaction() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        Path journalPath = Path.of(filePath + TaskJournal.JOURNAL_SUFFIX);
+        journalPath.toFile().deleteOnExit();
+
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new ToDo("Write a book"));
+        manager.markTask("mark", "1");
+        manager.deleteTask("delete", "2");
+        List<String> journalBeforeCompaction = Files.readAllLines(journalPath);
+        manager.compactJournal();
+        // the process stops after the task file was written but before the journal was emptied
+        Files.write(journalPath, journalBeforeCompaction);
+
+        TaskManager reloaded = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        assertEquals(1, reloaded.getTodoList().size());
+        assertEquals("[T] [X] Read a book", reloaded.getTodoList().get(0).toString());
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    public void testJournalKeepsNonAsciiNames() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        Path.of(filePath + TaskJournal.JOURNAL_SUFFIX).toFile().deleteOnExit();
+
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        manager.addTask(new ToDo("caf\u00e9 avec Zo\u00eb"));
+        manager.updateTask("edit 1 /name \u5bff\u53f8 party");
+        manager.addTask(new ToDo("na\u00efve plan"));
+
+        TaskManager reloaded = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        assertEquals("[T] [ ] \u5bff\u53f8 party", reloaded.getTodoList().get(0).toString());
+        assertEquals("[T] [ ] na\u00efve plan", reloaded.getTodoList().get(1).toString());
+    }
+
+    @Test
+    public void testJournalCompactedAtThreshold() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        Path journalPath = Path.of(filePath + TaskJournal.JOURNAL_SUFFIX);
+        journalPath.toFile().deleteOnExit();
+
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.JOURNAL);
+        for (int i = 0; i < TaskManager.COMPACTION_THRESHOLD; i++) {
+            manager.addTask(new ToDo("task " + i));
+        }
+
+        assertEquals(TaskManager.COMPACTION_THRESHOLD, FileWriting.readFromFile(filePath).size());
+        assertFalse(Files.exists(journalPath));
+    }
+
+    @Test
+    public void testBulkLoad() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        List<String> lines = List.of("T | 0 | Read a book",
+                "",
+                "D | 1 | Finish project | 2025-12-31 1800",
+                "E | 0 | Meeting | 2025-08-30 | 2025-08-31");
+
+        String summary = manager.bulkLoad(lines);
+
+        assertTrue(summary.startsWith("Loaded 3 tasks in "));
+        assertEquals(3, manager.getTodoList().size());
+        assertEquals("[D] [X] Finish project (by: Dec 31 2025 18:00)", manager.getTodoList().get(1).toString());
+        // bulk loading does not write anything back to the file
+        assertEquals(0, Files.readAllLines(tempFile.toPath()).size());
+    }
+
+    @Test
+    public void testWriteBehindCoalescesWrites() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.WRITE_BEHIND,
+                StorageFormat.TEXT, 60_000);
+        for (int i = 0; i < 1000; i++) {
+            manager.addTask(new ToDo("task " + i));
+        }
+        // nothing is written until the delay passes or the manager is flushed
+        assertEquals(0, manager.getFlushCount());
+
+        manager.close();
+        assertEquals(1, manager.getFlushCount());
+        assertEquals(1000, FileWriting.readFromFile(tempFile.getAbsolutePath()).size());
+    }
+
+    @Test
+    public void testWriteBehindNeverWritesUncommittedChanges() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.WRITE_BEHIND, StorageFormat.TEXT, 60_000);
+        manager.addTask(new ToDo("Read a book"));
+        manager.flush();
+
+        manager.beginTransaction();
+        manager.addTask(new ToDo("Water plants"));
+        manager.flush(); // a flush that falls due during the transaction must not write it
+        assertEquals(List.of("T | 0 | Read a book"), FileWriting.readFromFile(filePath));
+        manager.rollbackTransaction();
+        manager.flush();
+        assertEquals(List.of("T | 0 | Read a book"), FileWriting.readFromFile(filePath));
+
+        manager.beginTransaction();
+        manager.addTask(new ToDo("Call mum"));
+        manager.flush();
+        manager.commitTransaction();
+        manager.flush();
+        assertEquals(List.of("T | 0 | Read a book", "T | 0 | Call mum"), FileWriting.readFromFile(filePath));
+
+        manager.beginTransaction();
+        manager.deleteTask("delete", "1");
+        manager.close();
+        assertEquals(List.of("T | 0 | Read a book", "T | 0 | Call mum"), FileWriting.readFromFile(filePath));
+    }
+
+    @Test
+    public void testWriteBehindSavesChangesAfterClose() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.WRITE_BEHIND, StorageFormat.TEXT, 60_000);
+        manager.addTask(new ToDo("Read a book"));
+        manager.close();
+
+        // e.g. a command that was still running when the application shut down
+        manager.addTask(new ToDo("Water plants"));
+        assertEquals(List.of("T | 0 | Read a book", "T | 0 | Water plants"), FileWriting.readFromFile(filePath));
+    }
+
+    @Test
+    public void testBinaryFormatRoundTrip() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".bin");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.SNAPSHOT, StorageFormat.BINARY);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Submit assignment", "2023-10-01 1800"));
+        manager.addTask(new Event("Meeting", "2025-08-30", "2025-08-31 0930"));
+        manager.markTask("mark", "2");
+
+        TaskManager reloaded = new TaskManager(filePath, PersistenceMode.SNAPSHOT, StorageFormat.BINARY);
+        assertEquals(3, reloaded.getTodoList().size());
+        assertEquals("[T] [ ] Read a book", reloaded.getTodoList().get(0).toString());
+        assertEquals("[D] [X] Submit assignment (by: Oct 1 2023 18:00)", reloaded.getTodoList().get(1).toString());
+        assertEquals("E | 0 | Meeting | 2025-08-30 | 2025-08-31 0930", reloaded.getTodoList().get(2).formatData());
+    }
+
+    @Test
+    public void testBinaryFileTruncatedInHeader() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".bin");
+        tempFile.deleteOnExit();
+        String filePath = tempFile.getAbsolutePath();
+        TaskManager manager = new TaskManager(filePath, PersistenceMode.SNAPSHOT, StorageFormat.BINARY);
+        manager.addTask(new ToDo("Read a book"));
+        byte[] bytes = Files.readAllBytes(tempFile.toPath());
+        Files.write(tempFile.toPath(), Arrays.copyOf(bytes, 6)); // the magic bytes, the version and one more byte
+
+        List<String> printed = new ArrayList<>();
+        TaskManager reloaded = new TaskManager(filePath, PersistenceMode.SNAPSHOT, StorageFormat.BINARY,
+                WriteBehindFlusher.DEFAULT_FLUSH_DELAY_MILLIS, printed::add);
+
+        assertEquals(0, reloaded.getTodoList().size());
+        assertTrue(printed.get(0).startsWith("Something went wrong while loading data"));
+        new File(filePath + FileWriting.BACKUP_SUFFIX).deleteOnExit();
+    }
+
+    @Test
+    public void testExportThenImport() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".bin");
+        tempFile.deleteOnExit();
+        File exportFile = File.createTempFile("export", ".txt");
+        exportFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath(), PersistenceMode.SNAPSHOT,
+                StorageFormat.BINARY);
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Submit assignment", "2023-10-01 1800"));
+        manager.exportTasks("export", exportFile.getAbsolutePath());
+
+        assertEquals(List.of("T | 0 | Read a book", "D | 0 | Submit assignment | 2023-10-01 1800"),
+                FileWriting.readFromFile(exportFile.getAbsolutePath()));
+
+        String result = manager.importTasks("import", exportFile.getAbsolutePath());
+        assertTrue(result.startsWith("Imported 2 tasks"));
+        assertEquals(4, manager.getTodoList().size());
+    }
+
+    @Test
+    public void testFindTasksAfterDeleteAndRename() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new ToDo("Buy NOTEBOOK"));
+        manager.addTask(new ToDo("Write a book"));
+        manager.addTask(new Deadline("Return library book", "2023-10-01 1800"));
+
+        manager.deleteTask("delete", "1");
+        manager.updateTask("edit 2 /name Write a poem");
+
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] Buy NOTEBOOK\n"
+                + "3. [D] [ ] Return library book (by: Oct 1 2023 18:00)", manager.findTasks("find", "Book"));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "3. [D] [ ] Return library book (by: Oct 1 2023 18:00)", manager.findTasks("find", "ry b"));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "2. [T] [ ] Write a poem", manager.findTasks("find", "poem"));
+        assertEquals("No matching tasks found.", manager.findTasks("find", "write a book"));
+    }
+
+    @Test
+    public void testFindTasksShortAndSpanningKeywords() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new ToDo("Cook dinner"));
+        manager.addTask(new ToDo("Walk"));
+
+        // shorter than a trigram
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] Read a book\n"
+                + "2. [T] [ ] Cook dinner", manager.findTasks("find", "ok"));
+        // spans a space between words
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "2. [T] [ ] Cook dinner", manager.findTasks("find", "k d"));
+        assertEquals("No matching tasks found.", manager.findTasks("find", "booking"));
+    }
+
+    @Test
+    public void testSortDeadlineTaskAfterChanges() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        manager.addTask(new Deadline("Submit assignment", "2023-10-01 1800"));
+        manager.addTask(new Deadline("Project meeting", "2023-09-15 1400"));
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Pay bills", "2023-09-15 1400"));
+        manager.addTask(new Deadline("Renew passport", "2023-12-01"));
+
+        manager.markTask("mark", "2");
+        manager.updateTask("edit 5 /by 2023-09-01");
+        manager.deleteTask("delete", "3");
+
+        assertEquals("Here are the deadline tasks due soon:\n"
+                + "4. [D] [ ] Renew passport (by: Sep 1 2023 00:00)\n"
+                + "3. [D] [ ] Pay bills (by: Sep 15 2023 14:00)", manager.sortDeadlineTask("due", "2"));
+
+        manager.unmarkTask("unmark", "2");
+        assertEquals("Here are the deadline tasks due soon:\n"
+                + "4. [D] [ ] Renew passport (by: Sep 1 2023 00:00)\n"
+                + "2. [D] [ ] Project meeting (by: Sep 15 2023 14:00)\n"
+                + "3. [D] [ ] Pay bills (by: Sep 15 2023 14:00)\n"
+                + "1. [D] [ ] Submit assignment (by: Oct 1 2023 18:00)", manager.sortDeadlineTask());
+    }
+
+    @Test
+    public void testSortDeadlineTaskInvalidLimit() throws IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        assertThrows(LeoException.class, () -> manager.sortDeadlineTask("due", "soon"));
+        assertThrows(LeoException.class, () -> manager.sortDeadlineTask("due", "0"));
+    }
+
+    @Test
+    public void testFindTasksBetweenAndOn() throws LeoException, IOException {
+        File tempFile = File.createTempFile("tempfile", ".txt");
+        tempFile.deleteOnExit();
+
+        TaskManager manager = new TaskManager(tempFile.getAbsolutePath());
+        manager.addTask(new Event("Conference", "2025-09-10", "2025-09-12 1700"));
+        manager.addTask(new ToDo("Read a book"));
+        manager.addTask(new Deadline("Submit report", "2025-09-11 1200"));
+        manager.addTask(new Event("Holiday", "2025-08-01", "2025-09-30"));
+        manager.addTask(new Deadline("Pay bills", "2025-10-01"));
+
+        assertEquals("Here are the tasks on 2025-09-12:\n"
+                + "4. [E] [ ] Holiday (from: Aug 1 2025 00:00 to: Sep 30 2025 00:00)\n"
+                + "1. [E] [ ] Conference (from: Sep 10 2025 00:00 to: Sep 12 2025 17:00)",
+                manager.findTasksOn("on", "2025-09-12"));
+        assertEquals("Here are the tasks between 2025-09-11 1300 and 2025-10-01:\n"
+                + "4. [E] [ ] Holiday (from: Aug 1 2025 00:00 to: Sep 30 2025 00:00)\n"
+                + "1. [E] [ ] Conference (from: Sep 10 2025 00:00 to: Sep 12 2025 17:00)\n"
+                + "5. [D] [ ] Pay bills (by: Oct 1 2025 00:00)",
+                manager.findTasksBetween("between", "2025-09-11", "1300", "2025-10-01"));
+
+        manager.deleteTask("delete", "4");
+        manager.updateTask("edit 1 /from 2025-09-13 /to 2025-09-14");
+        assertEquals("Nothing scheduled on 2025-09-12.", manager.findTasksOn("on", "2025-09-12"));
+        assertThrows(LeoException.class, () -> manager.findTasksBetween("between", "2025-09-12"));
+    }
+
 }
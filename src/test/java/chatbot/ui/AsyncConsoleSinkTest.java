@@ -0,0 +1,34 @@
+package chatbot.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for AsyncConsoleSink.
+ */
+public class AsyncConsoleSinkTest {
+
+    @Test
+    public void testMessagesWrittenInOrderByFlush() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AsyncConsoleSink sink = new AsyncConsoleSink(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sink.print("message " + i);
+            expected.append("message ").append(i).append(System.lineSeparator());
+        }
+
+        sink.flush();
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+
+        sink.print("last");
+        sink.close();
+        expected.append("last").append(System.lineSeparator());
+        assertEquals(expected.toString(), bytes.toString(StandardCharsets.UTF_8));
+    }
+}